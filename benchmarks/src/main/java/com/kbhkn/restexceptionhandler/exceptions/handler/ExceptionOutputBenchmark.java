@@ -0,0 +1,149 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
+import com.kbhkn.restexceptionhandler.exceptions.types.BenchmarkException;
+import com.kbhkn.restexceptionhandler.exceptions.types.RestServiceException;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
+import com.kbhkn.restexceptionhandler.repository.ApiErrorFinderRepositoryService;
+import java.lang.reflect.Field;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Preparation of the exception responses against an in-memory H2 api_translations table, and their JSON serialization.
+ * Runs offline, the database lives in the benchmark JVM.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ExceptionOutputBenchmark {
+    private static final String URL = "jdbc:h2:mem:geh_bench;MODE=Oracle;DB_CLOSE_DELAY=-1";
+
+    /* Fallback chains as the locale negotiation resolves them, i.e. "en-GB,en;q=0.8" and no Accept-Language. */
+    private static final List<String> EN_CHAIN = List.of("EN", "TR");
+    private static final List<String> TR_CHAIN = List.of("TR");
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    private ApiErrorFinderRepositoryService apiRepository;
+    private ServiceExceptionUtil exceptionUtil;
+    private ObjectMapper objectMapper;
+    private RestServiceException definedException;
+    private RestServiceException parameterizedException;
+    private RestServiceException notDefinedException;
+    private ExceptionOutput exceptionOutput;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        createTable();
+
+        ExceptionHandlerPropertiesReader properties = new ExceptionHandlerPropertiesReader() {
+        };
+        properties.setDefaultErrorCode("-99");
+        properties.setDefaultErrorModule("Self");
+        properties.setDefaultErrorMessage("We are unable to process your transaction at the moment.");
+
+        ExceptionHandlerPropertiesReader.Datasource datasource = new ExceptionHandlerPropertiesReader.Datasource();
+        datasource.setName("bench");
+        datasource.setSchemaName("bench");
+        datasource.setUrl(URL);
+        datasource.setDriver("org.h2.Driver");
+        datasource.setUsername("sa");
+        datasource.setPassword("");
+        properties.setDatasource(datasource);
+        properties.getCache().setEnabled(cacheEnabled);
+
+        apiRepository = new ApiErrorFinderRepositoryService(properties, ExceptionHandlerMetrics.NOOP);
+        apiRepository.createNamedParamJdbcTemp();
+
+        exceptionUtil = new ServiceExceptionUtil(new StaticListableBeanFactory(Map.of("apiRepository", apiRepository))
+            .getBeanProvider(ApiErrorFinderRepositoryService.class), properties, ExceptionHandlerMetrics.NOOP);
+        Field appName = ServiceExceptionUtil.class.getDeclaredField("appName");
+        appName.setAccessible(true);
+        appName.set(exceptionUtil, "BENCH");
+
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+        definedException = BenchmarkException.STACKLESS.exception();
+        parameterizedException = BenchmarkException.WITH_STACK_TRACE.exception("12345678901");
+        notDefinedException = BenchmarkException.NOT_DEFINED.exception();
+        exceptionOutput = exceptionUtil.prepareExceptionOutput(parameterizedException, EN_CHAIN);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        apiRepository.destroy();
+    }
+
+    @Benchmark
+    public ExceptionOutput prepareDefined() {
+        return exceptionUtil.prepareExceptionOutput(definedException, EN_CHAIN);
+    }
+
+    @Benchmark
+    public ExceptionOutput prepareParameterized() {
+        return exceptionUtil.prepareExceptionOutput(parameterizedException, TR_CHAIN);
+    }
+
+    @Benchmark
+    public ExceptionOutput prepareNotDefined() {
+        return exceptionUtil.prepareExceptionOutput(notDefinedException, EN_CHAIN);
+    }
+
+    @Benchmark
+    public ExceptionOutput prepareDefault() {
+        return exceptionUtil.prepareDefaultExceptionOutput(EN_CHAIN);
+    }
+
+    @Benchmark
+    public byte[] serializeExceptionOutput() throws Exception {
+        return objectMapper.writeValueAsBytes(exceptionOutput);
+    }
+
+    private static void createTable() throws SQLException {
+        try (Connection connection = DriverManager.getConnection(URL, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("create schema if not exists bench");
+            statement.execute("create table if not exists bench.api_translations (id integer auto_increment primary key,"
+                + " application varchar(255) not null, module varchar(255) not null, type varchar(5) not null,"
+                + " code varchar(255) not null, locale varchar(5) not null, value varchar(255) not null,"
+                + " description varchar(255) not null)");
+            statement.execute("delete from bench.api_translations");
+            statement.execute("insert into bench.api_translations (application, module, type, code, locale, value, description) values"
+                + " ('BENCH', 'bench', 'EX', '100000', 'EN', 'Invalid TCKN: {0}.', 'bench'),"
+                + " ('BENCH', 'bench', 'EX', '100000', 'TR', '{0} numaralı TCKN hatalıdır!', 'bench'),"
+                + " ('BENCH', 'bench', 'EX', '100001', 'EN', 'User definition exists.', 'bench'),"
+                + " ('BENCH', 'Self', 'EX', '-99', 'EN', 'We are unable to process your transaction.', 'bench'),"
+                + " ('BENCH', 'Self', 'EX', '-99', 'TR', 'İşleminizi şu anda gerçekleştiremiyoruz.', 'bench')");
+        }
+    }
+}
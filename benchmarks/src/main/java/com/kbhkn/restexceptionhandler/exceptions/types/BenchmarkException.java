@@ -0,0 +1,58 @@
+package com.kbhkn.restexceptionhandler.exceptions.types;
+
+import com.kbhkn.restexceptionhandler.exceptions.base.ServiceException;
+
+/**
+ * Exception definitions of the benchmarks, like the enums of the applications.
+ */
+public enum BenchmarkException implements ServiceException<RestServiceException> {
+    WITH_STACK_TRACE("100000", false, false),
+    STACKLESS("100001", true, false),
+    STACKLESS_REUSABLE("100002", true, true),
+    NOT_DEFINED("100999", false, false);
+
+    private final String code;
+    private final boolean stackless;
+    private final boolean reusable;
+
+    BenchmarkException(String code, boolean stackless, boolean reusable) {
+        this.code = code;
+        this.stackless = stackless;
+        this.reusable = reusable;
+    }
+
+    @Override
+    public String code() {
+        return code;
+    }
+
+    @Override
+    public String desc() {
+        return "Benchmark exception.";
+    }
+
+    @Override
+    public String module() {
+        return "bench";
+    }
+
+    @Override
+    public String api() {
+        return "BENCH";
+    }
+
+    @Override
+    public boolean stackless() {
+        return stackless;
+    }
+
+    @Override
+    public boolean reusable() {
+        return reusable;
+    }
+
+    @Override
+    public RestServiceException exception() {
+        return new RestServiceException(this);
+    }
+}
@@ -0,0 +1,65 @@
+package com.kbhkn.restexceptionhandler.exceptions.types;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Creation cost of the exceptions. The stack depth simulates the frames of a controller called by Spring MVC.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ServiceExceptionBenchmark {
+    @Param({"0", "100"})
+    private int stackDepth;
+
+    @Benchmark
+    public RestServiceException exceptionWithStackTrace() {
+        return atDepth(stackDepth, BenchmarkException.WITH_STACK_TRACE, false);
+    }
+
+    @Benchmark
+    public RestServiceException exceptionStackless() {
+        return atDepth(stackDepth, BenchmarkException.STACKLESS, false);
+    }
+
+    @Benchmark
+    public RestServiceException exceptionWithParameters() {
+        return atDepth(stackDepth, BenchmarkException.WITH_STACK_TRACE, true);
+    }
+
+    @Benchmark
+    public RestServiceException exceptionStacklessWithParameters() {
+        return atDepth(stackDepth, BenchmarkException.STACKLESS, true);
+    }
+
+    @Benchmark
+    public RestServiceException raiseReusable() {
+        try {
+            BenchmarkException.STACKLESS_REUSABLE.raise();
+            return null;
+        } catch (RestServiceException ex) {
+            return ex;
+        }
+    }
+
+    private static RestServiceException atDepth(int depth, BenchmarkException exception, boolean withParameters) {
+        if (depth > 0) {
+            return atDepth(depth - 1, exception, withParameters);
+        }
+
+        return withParameters ? exception.exception("12345678901", "second") : exception.exception();
+    }
+}
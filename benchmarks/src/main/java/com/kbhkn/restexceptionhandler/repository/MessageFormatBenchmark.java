@@ -0,0 +1,72 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.text.MessageFormat;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Formatting of the translated messages with 0, 1 and 5 parameters.
+ * The legacy benchmark is the previous implementation, quotes escaped with a regex and parsed by the MessageFormat on each call.
+ */
+@Fork(1)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MessageFormatBenchmark {
+    @Param({"0", "1", "5"})
+    private int parameterCount;
+
+    private Translation translation;
+    private List<String> parameters;
+
+    @Setup
+    public void setUp() {
+        String placeholders = IntStream.range(0, parameterCount)
+            .mapToObj(index -> "'{" + index + "}'")
+            .collect(Collectors.joining(", "));
+
+        translation = new Translation("User's request couldn't be processed: " + placeholders + ". Please try again.");
+        parameters = parameterCount == 0
+            ? Collections.emptyList()
+            : IntStream.range(0, parameterCount).mapToObj(index -> "parameter" + index).collect(Collectors.toList());
+
+        // First call compiles the template, like the first exception of the definition.
+        translation.format(parameters);
+    }
+
+    @Benchmark
+    public String compiledTemplate() {
+        return translation.format(parameters);
+    }
+
+    @Benchmark
+    public String legacyMessageFormat() {
+        String exceptionMessage = translation.getValue();
+
+        if (parameters.isEmpty()) {
+            return exceptionMessage;
+        }
+
+        String formattedExceptionMessage = exceptionMessage.contains("'")
+            ? exceptionMessage.replaceAll("'", "''")
+            : exceptionMessage;
+
+        return MessageFormat.format(formattedExceptionMessage, parameters.toArray());
+    }
+}
@@ -1,16 +1,36 @@
 package com.kbhkn.restexceptionhandler.configurations;
 
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetricsAutoConfiguration;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.FilterType;
 import org.springframework.context.annotation.Lazy;
 
 /**
  * Activated Custom Auto Conf. --> META-INF/spring.factories
+ * The other auto configurations of the library aren't component-scanned, they are only activated by their conditions.
  *
  * @author Hakan KABASAKAL, 12-Aug-21
  */
 @Lazy
 @Configuration
-@ComponentScan(basePackages = "com.kbhkn.restexceptionhandler", lazyInit = true)
+@AutoConfigureAfter(ExceptionHandlerMetricsAutoConfiguration.class)
+@ComponentScan(basePackages = "com.kbhkn.restexceptionhandler", lazyInit = true,
+    excludeFilters = @ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class))
 public class ExceptionHandlerConfiguration {
+    /**
+     * Instrumentation does nothing, if Micrometer isn't used.
+     *
+     * @return no-op instrumentation.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionHandlerMetrics exceptionHandlerMetrics() {
+        return ExceptionHandlerMetrics.NOOP;
+    }
 }
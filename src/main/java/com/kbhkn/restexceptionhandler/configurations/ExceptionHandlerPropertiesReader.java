@@ -1,5 +1,10 @@
 package com.kbhkn.restexceptionhandler.configurations;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 import javax.validation.constraints.NotEmpty;
 import lombok.AccessLevel;
 import lombok.Getter;
@@ -33,6 +38,38 @@ public class ExceptionHandlerPropertiesReader {
 
     private Datasource datasource;
 
+    private Cache cache = new Cache();
+
+    private Snapshot snapshot = new Snapshot();
+
+    private SnapshotFile snapshotFile = new SnapshotFile();
+
+    private Exceptions exceptions = new Exceptions();
+
+    private Resilience resilience = new Resilience();
+
+    private Reactive reactive = new Reactive();
+
+    private ResponseCache responseCache = new ResponseCache();
+
+    private RequestId requestId = new RequestId();
+
+    private Locales locales = new Locales();
+
+    private Prewarm prewarm = new Prewarm();
+
+    private Initialization initialization = new Initialization();
+
+    private Feign feign = new Feign();
+
+    private Cbor cbor = new Cbor();
+
+    private Hotspots hotspots = new Hotspots();
+
+    private Logging logging = new Logging();
+
+    private Metrics metrics = new Metrics();
+
     @Getter
     @Setter
     public static class Datasource {
@@ -47,6 +84,253 @@ public class ExceptionHandlerPropertiesReader {
         private String driver;
         private String username;
         private String password;
+
+        /* Dedicated pool only, they aren't applied to a datasource bean of the application. */
+        private int maximumPoolSize = 4;
+        private int minimumIdle = 1;
+        private Duration connectionTimeout = Duration.ofSeconds(2);
+        private Duration validationTimeout = Duration.ofSeconds(1);
+        private Duration idleTimeout = Duration.ofMinutes(10);
+        private Duration maxLifetime = Duration.ofMinutes(30);
+
+        /* Prepared statements cached per connection by the Oracle, MySQL/MariaDB and PostgreSQL drivers. Zero disables it. */
+        private int statementCacheSize = 25;
+
+        /* Other driver properties of the dedicated pool. */
+        private Map<String, String> dataSourceProperties = new HashMap<>();
+
+        /* Lookups are cancelled in the database after this duration. Zero means no timeout, the resilience deadline overrides it. */
+        private Duration queryTimeout = Duration.ofSeconds(2);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        /* If it is disabled, each lookup goes to the database. */
+        private boolean enabled = true;
+
+        /* Maximum count of (application, module, code, locale) entries, includes the not found ones. */
+        private long maximumSize = 10_000;
+
+        /* Found and not found definitions are evicted after this duration. */
+        private Duration timeToLive = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Snapshot {
+        /* If it is enabled, whole "EX" definitions of the schema are loaded at once and lookups don't hit the database. */
+        private boolean enabled = false;
+
+        /* The snapshot is refreshed in the background with this period. */
+        private Duration refreshInterval = Duration.ofMinutes(5);
+
+        /* Optional, i.e. updated_at or version. If it is defined, refreshes only pull the rows changed since the last one. */
+        private String watermarkColumn;
+
+        /* With the watermark column, the deleted rows are dropped by a full load with this period. */
+        private Duration fullRefreshInterval = Duration.ofHours(1);
+
+        /* Rows are streamed from the database with this fetch size. */
+        private int fetchSize = 1_000;
+
+        /* If it is enabled, each distinct string is stored once as UTF-8 off-heap, with a primitive index. The values are decoded per lookup. */
+        private boolean compact = false;
+    }
+
+    @Getter
+    @Setter
+    public static class SnapshotFile {
+        /* If it is enabled, found definitions are kept on the local disk, a restarted instance serves them before the database is reached. */
+        private boolean enabled = false;
+
+        /* If it is empty, a file of the schema in the temp directory is used. */
+        private String path;
+
+        /* An older file is discarded. */
+        private Duration maxAge = Duration.ofHours(24);
+
+        /* Without the snapshot mode, the cached definitions are written with this period. The snapshot mode writes each refresh. */
+        private Duration writeInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Exceptions {
+        /* Exceptions of the enums are created without the stack trace. Each enum can override it. */
+        private boolean stackless = false;
+
+        /* Parameterless raise() of a stackless enum throws the same instance. Each enum can override it. */
+        private boolean reusable = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Resilience {
+        /* If it is enabled, lookups are bounded by the deadline and guarded by a circuit breaker. */
+        private boolean enabled = false;
+
+        /* A request thread waits for a lookup at most this duration. */
+        private Duration deadline = Duration.ofMillis(500);
+
+        /* Consecutive failed lookups that open the circuit breaker. */
+        private int failureThreshold = 5;
+
+        /* While it is open, the breaker probes the database in the background with this period. */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /* Lookups run on a dedicated pool, a full queue fails the lookup immediately. */
+        private int lookupThreads = 4;
+        private int lookupQueueSize = 100;
+
+        /* Last-known values that aren't looked up for this duration are evicted, the count is bounded by the cache maximumSize. */
+        private Duration lastKnownTimeToIdle = Duration.ofHours(24);
+    }
+
+    @Getter
+    @Setter
+    public static class Reactive {
+        /* Lookups that aren't cached run on a bounded elastic scheduler, never on the event loop. */
+        private int lookupThreads = 10;
+        private int lookupQueueSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class ResponseCache {
+        /* If it is enabled, JSON bodies of the parameterless responses are serialized once, only the timeStamp is written per response. */
+        private boolean enabled = false;
+
+        /* Maximum count of distinct (api, module, code, desc) bodies. */
+        private long maximumSize = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class RequestId {
+        /* If it is enabled, the request id is resolved once per request by a filter, before the other filters. */
+        private boolean enabled = true;
+
+        /* The request id is put into the MDC (the Reactor context in the reactive applications) with this key. */
+        private String mdcKey = "requestId";
+    }
+
+    @Getter
+    @Setter
+    public static class Locales {
+        /* The last fallback of each Accept-Language, and the locale of the requests without it. */
+        private String defaultLocale = "TR";
+
+        /* If it is empty, the locales are read from the api_translations table and refreshed with the interval. I.e. TR, EN, EN_GB. */
+        private List<String> supported = new ArrayList<>();
+        private Duration refreshInterval = Duration.ofMinutes(10);
+
+        /* Fallback chains are cached per Accept-Language header value. */
+        private long maximumChains = 1_000;
+    }
+
+    @Getter
+    @Setter
+    public static class Prewarm {
+        /* If it is enabled, definitions of the registered enums are fetched before the application is ready, the missing ones are reported. */
+        private boolean enabled = false;
+
+        /* If it is empty, the supported locales are used, otherwise the locales of the table. */
+        private List<String> locales = new ArrayList<>();
+
+        /* Definitions are fetched in chunks of this size, on this count of threads. */
+        private int chunkSize = 100;
+        private int threads = 4;
+    }
+
+    @Getter
+    @Setter
+    public static class Initialization {
+        /* If it is enabled, the handler is initialized on a background thread at startup instead of the first exception. */
+        private boolean background = false;
+
+        /* A failed initialization, i.e. the database is unreachable, is retried with this period. */
+        private Duration retryInterval = Duration.ofSeconds(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Feign {
+        /* If Feign is on the classpath, the ExceptionOutput responses of the Feign clients are decoded into the RemoteRestServiceException. */
+        private boolean errorDecoder = true;
+
+        /* Decoded exceptions are created without the stack trace. */
+        private boolean stackless = true;
+
+        /* If it is enabled, the Feign clients list application/cbor first in the Accept header and JSON after it with a lower quality,
+         so the errors of the other services are sent in CBOR. A service which registers a CBOR message converter answers the normal responses in CBOR too. */
+        private boolean acceptCbor = false;
+    }
+
+    @Getter
+    @Setter
+    public static class Cbor {
+        /* If jackson-dataformat-cbor is on the classpath, the clients which list application/cbor in the Accept header get the errors in CBOR. */
+        private boolean enabled = true;
+    }
+
+    @Getter
+    @Setter
+    public static class Hotspots {
+        /* If it is enabled, the most firing (api, module, code) triples are tracked with a fixed memory. */
+        private boolean enabled = false;
+
+        /* Sliding window of the counts, split into the buckets. */
+        private Duration window = Duration.ofMinutes(1);
+        private int buckets = 6;
+
+        /* Count-Min sketch of each bucket; depth rows (at most 8) of width counters. The memory is (buckets + 1) * depth * width * 8 bytes. */
+        private int depth = 4;
+        private int width = 1_024;
+
+        /* Tracked triples, the endpoint returns the first limit of them. */
+        private int candidates = 64;
+        private int limit = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Logging {
+        /* If it is defined, each (api, module, code) is logged once per interval, the others are summarised. Zero logs all of them. */
+        private Duration summaryInterval = Duration.ZERO;
+
+        /* If it is false, business exceptions are logged without the stack trace. */
+        private boolean businessStackTraces = true;
+
+        /* Generic Exception.class logs per second, zero means no limit. */
+        private double genericPermitsPerSecond = 0;
+        private int genericBurst = 10;
+
+        /* Codes beyond this count are logged without the summary. */
+        private int maximumTrackedCodes = 10_000;
+
+        /* If it is enabled, exception logs are formatted and written by a background thread, the request thread only buffers them. */
+        private boolean asynchronous = false;
+
+        /* Capacity of the log buffer, rounded up to a power of two. */
+        private int bufferSize = 8_192;
+
+        /* DROP counts and drops the logs when the buffer is full, BLOCK makes the request thread wait for the space, except a non-blocking thread. */
+        private OverflowPolicy overflowPolicy = OverflowPolicy.DROP;
+
+        public enum OverflowPolicy {
+            DROP, BLOCK
+        }
+    }
+
+    @Getter
+    @Setter
+    public static class Metrics {
+        /* Each tag keeps this count of distinct values, the others are collapsed into OTHER. */
+        private int maximumTagValues = 200;
+
+        /* Counters keep this count of tag combinations, the others are counted with OTHER values. */
+        private int maximumSeries = 2000;
     }
 }
 
@@ -0,0 +1,31 @@
+package com.kbhkn.restexceptionhandler.configurations;
+
+import com.kbhkn.restexceptionhandler.exceptions.base.ServiceExceptionOptions;
+import javax.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Applies common.ex-handler.exceptions to the enums. It isn't lazy, the enums can throw before the first exception is handled.
+ */
+@Slf4j
+@Component
+@Lazy(false)
+@RequiredArgsConstructor
+class ServiceExceptionOptionsConfigurer {
+    private final ExceptionHandlerPropertiesReader propertiesReader;
+
+    /**
+     * Configures the global options of the enums.
+     */
+    @PostConstruct
+    public void configure() {
+        ExceptionHandlerPropertiesReader.Exceptions exceptions = propertiesReader.getExceptions();
+
+        ServiceExceptionOptions.configure(exceptions.isStackless(), exceptions.isReusable());
+
+        log.info("--- Service Exception options. Stackless: {}, Reusable: {}", exceptions.isStackless(), exceptions.isReusable());
+    }
+}
@@ -0,0 +1,49 @@
+package com.kbhkn.restexceptionhandler.exceptions.base;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Hands the parameters of {@link ServiceException#exception(String...)} over to the exception created by {@link ServiceException#exception()}.
+ * Parameters are bound to the current thread only while the exception is being created, and the exception keeps its own immutable copy.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ExceptionParameters {
+    private static final ThreadLocal<List<String>> PENDING_PARAMETERS = new ThreadLocal<>();
+
+    /**
+     * Returns the parameters of the exception being created on this thread.
+     *
+     * @return immutable parameters, empty if there is none.
+     */
+    static List<String> current() {
+        List<String> parameters = PENDING_PARAMETERS.get();
+
+        return parameters == null ? Collections.emptyList() : parameters;
+    }
+
+    /**
+     * Creates the exception with the parameters.
+     *
+     * @param params  message parameters.
+     * @param factory creates the exception, reads the parameters by {@link #current()}.
+     * @return created exception.
+     */
+    static <T> T createWith(String[] params, Supplier<T> factory) {
+        List<String> previous = PENDING_PARAMETERS.get();
+
+        // Cloned, the caller still owns the varargs array.
+        PENDING_PARAMETERS.set(Collections.unmodifiableList(Arrays.asList(params.clone())));
+
+        try {
+            return factory.get();
+        } finally {
+            // Not removed, set() reuses the entry of this thread for the next exception.
+            PENDING_PARAMETERS.set(previous);
+        }
+    }
+}
@@ -1,7 +1,5 @@
 package com.kbhkn.restexceptionhandler.exceptions.base;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 /**
@@ -11,8 +9,6 @@ import java.util.List;
  */
 
 public interface ServiceException<T extends RuntimeException> {
-    List<String> parameters = new ArrayList<>();
-
     /**
      * error code.
      *
@@ -45,17 +41,42 @@ public interface ServiceException<T extends RuntimeException> {
 
     /**
      * Needs for formatted exception message.
+     * Only meaningful while the exception is being created by {@link #exception(String...)}, each exception keeps its own copy.
      *
-     * @return message parameters.
+     * @return message parameters of the exception being created on the current thread.
      */
     default List<String> parameters() {
-        return parameters;
+        return ExceptionParameters.current();
+    }
+
+    /**
+     * Creates the exception without the stack trace. Filling the stack trace dominates the cost of the exceptions thrown at high rate.
+     * Override it to decide per enum, otherwise common.ex-handler.exceptions.stackless is used.
+     *
+     * @return true, if the exception is created without the stack trace.
+     */
+    default boolean stackless() {
+        return ServiceExceptionOptions.isStackless();
+    }
+
+    /**
+     * Parameterless raise() throws the same instance for each enum constant, only if the exception is stackless.
+     * Override it to decide per enum, otherwise common.ex-handler.exceptions.reusable is used.
+     *
+     * @return true, if the instance is reused.
+     */
+    default boolean reusable() {
+        return ServiceExceptionOptions.isReusable();
     }
 
     /**
      * The Helper method throws the exception itself.
      */
     default void raise() {
+        if (stackless() && reusable()) {
+            throw ServiceExceptionOptions.reusableException(this);
+        }
+
         throw exception();
     }
 
@@ -79,10 +100,11 @@ public interface ServiceException<T extends RuntimeException> {
      * @return the enum exception as Java exception itself.
      */
     default T exception(String... params) {
-        parameters.clear();
-        Collections.addAll(parameters, params);
+        if (params == null || params.length == 0) {
+            return exception();
+        }
 
-        return exception();
+        return ExceptionParameters.createWith(params, this::exception);
     }
 }
 
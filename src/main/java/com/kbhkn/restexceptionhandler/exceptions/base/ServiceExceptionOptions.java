@@ -0,0 +1,67 @@
+package com.kbhkn.restexceptionhandler.exceptions.base;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Global options of the {@link ServiceException} enums. Configured from common.ex-handler.exceptions at startup.
+ * Each enum can override them by {@link ServiceException#stackless()} and {@link ServiceException#reusable()}.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ServiceExceptionOptions {
+    private static final Map<ServiceException<?>, RuntimeException> REUSABLE_EXCEPTIONS = new ConcurrentHashMap<>();
+    /* Constants whose exception() creates the stack trace anyway, i.e. it is overridden. They are never reused. */
+    private static final Set<ServiceException<?>> NOT_REUSABLE = ConcurrentHashMap.newKeySet();
+
+    private static volatile boolean stackless;
+    private static volatile boolean reusable;
+
+    /**
+     * Sets the global options.
+     *
+     * @param stacklessByDefault exceptions are created without the stack trace.
+     * @param reusableByDefault  parameterless raise() throws the same instance for each enum constant.
+     */
+    public static void configure(boolean stacklessByDefault, boolean reusableByDefault) {
+        stackless = stacklessByDefault;
+        reusable = reusableByDefault;
+        REUSABLE_EXCEPTIONS.clear();
+        NOT_REUSABLE.clear();
+    }
+
+    static boolean isStackless() {
+        return stackless;
+    }
+
+    static boolean isReusable() {
+        return reusable;
+    }
+
+    /**
+     * Returns the one instance of the enum constant. It is created once, and it is immutable since it is stackless.
+     * If the created exception has a stack trace anyway, it isn't shared, it would point at its first caller; a new one is created each time.
+     */
+    static RuntimeException reusableException(ServiceException<?> serviceException) {
+        RuntimeException reusable = REUSABLE_EXCEPTIONS.get(serviceException);
+        if (Objects.nonNull(reusable)) {
+            return reusable;
+        }
+
+        RuntimeException created = serviceException.exception();
+        if (NOT_REUSABLE.contains(serviceException)) {
+            return created;
+        }
+
+        if (created.getStackTrace().length != 0) {
+            NOT_REUSABLE.add(serviceException);
+            return created;
+        }
+
+        RuntimeException existing = REUSABLE_EXCEPTIONS.putIfAbsent(serviceException, created);
+        return Objects.isNull(existing) ? created : existing;
+    }
+}
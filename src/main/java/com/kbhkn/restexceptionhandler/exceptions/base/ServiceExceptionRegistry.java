@@ -0,0 +1,75 @@
+package com.kbhkn.restexceptionhandler.exceptions.base;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * {@link ServiceException} enums of the application, found at build time by the ServiceExceptionRegistryProcessor.
+ * Each jar which has enums contains a registry resource, the enum class names are listed line by line.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class ServiceExceptionRegistry {
+    public static final String REGISTRY_RESOURCE = "META-INF/rest-exception-handler/service-exceptions";
+
+    /**
+     * Loads the constants of the registered enums. Classes that can't be loaded anymore are skipped.
+     *
+     * @param classLoader class loader of the application.
+     * @return enum constants of all registry resources.
+     */
+    public static List<ServiceException<?>> load(ClassLoader classLoader) {
+        List<ServiceException<?>> serviceExceptions = new ArrayList<>();
+
+        for (String className : readClassNames(classLoader)) {
+            try {
+                Class<?> type = Class.forName(className, false, classLoader);
+
+                if (type.isEnum() && ServiceException.class.isAssignableFrom(type)) {
+                    for (Object constant : type.getEnumConstants()) {
+                        serviceExceptions.add((ServiceException<?>) constant);
+                    }
+                }
+            } catch (ClassNotFoundException | LinkageError ex) {
+                log.debug("--- Service Exception registry skipped: {}", className, ex);
+            }
+        }
+
+        return Collections.unmodifiableList(serviceExceptions);
+    }
+
+    private static Set<String> readClassNames(ClassLoader classLoader) {
+        Set<String> classNames = new LinkedHashSet<>();
+
+        try {
+            Enumeration<URL> resources = classLoader.getResources(REGISTRY_RESOURCE);
+
+            while (resources.hasMoreElements()) {
+                URL resource = resources.nextElement();
+
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+                    reader.lines()
+                        .map(String::trim)
+                        .filter(line -> !line.isEmpty() && !line.startsWith("#"))
+                        .forEach(classNames::add);
+                }
+            }
+        } catch (IOException ex) {
+            log.error("--- Service Exception registry couldn't be read.", ex);
+        }
+
+        return classNames;
+    }
+}
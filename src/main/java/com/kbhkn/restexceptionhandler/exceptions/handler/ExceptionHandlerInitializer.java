@@ -0,0 +1,117 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.repository.ApiErrorFinderRepositoryService;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Initializes the handler on a background thread at startup, so the first exception after a deployment doesn't pay
+ * the bean creation, the pool creation and the connection handshake. The context refresh isn't blocked.
+ * The lazy beans of the library are created, a connection is opened and the prewarm runs, if it is enabled.
+ */
+@Lazy
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "common.ex-handler.initialization", name = "background")
+public class ExceptionHandlerInitializer implements ApplicationListener<ApplicationStartedEvent> {
+    private static final String LIBRARY_PACKAGE = "com.kbhkn.restexceptionhandler.";
+
+    private final ExceptionHandlerPropertiesReader properties;
+    private final ObjectProvider<TranslationPrewarmer> prewarmer;
+
+    private ScheduledExecutorService initializer;
+    private long startedAt;
+
+    /* Written by the initializer thread, read by the health checks. */
+    @Getter
+    private volatile State state = State.NOT_STARTED;
+    @Getter
+    private volatile Throwable lastFailure;
+    @Getter
+    private volatile long initializedInMillis;
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        if (state != State.NOT_STARTED) {
+            return;
+        }
+
+        state = State.INITIALIZING;
+        startedAt = System.currentTimeMillis();
+
+        initializer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GEH-initializer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        initializer.execute(() -> initialize(event.getApplicationContext()));
+    }
+
+    /**
+     * Stops the initializer, if it is still running.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(initializer)) {
+            initializer.shutdownNow();
+        }
+    }
+
+    private void initialize(ApplicationContext applicationContext) {
+        try {
+            for (String beanName : applicationContext.getBeanDefinitionNames()) {
+                Class<?> beanType = applicationContext.getType(beanName, false);
+
+                if (Objects.nonNull(beanType) && beanType.getName().startsWith(LIBRARY_PACKAGE) && applicationContext.isSingleton(beanName)) {
+                    applicationContext.getBean(beanName);
+                }
+            }
+
+            applicationContext.getBean(ApiErrorFinderRepositoryService.class).warmUp();
+
+            prewarmer.ifAvailable(translationPrewarmer -> translationPrewarmer.prewarm(applicationContext.getClassLoader()));
+
+            initializedInMillis = System.currentTimeMillis() - startedAt;
+            lastFailure = null;
+            state = State.INITIALIZED;
+
+            log.info("--- Api Translations Service's background initialization is completed. Took: {} ms", initializedInMillis);
+
+            initializer.shutdown();
+        } catch (RuntimeException ex) {
+            lastFailure = ex;
+
+            long retryInterval = properties.getInitialization().getRetryInterval().toMillis();
+
+            log.error("--- Api Translations Service's background initialization is failed, it is retried in {} ms.", retryInterval, ex);
+
+            if (!initializer.isShutdown()) {
+                initializer.schedule(() -> initialize(applicationContext), retryInterval, TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * Initialization states.
+     */
+    public enum State {
+        NOT_STARTED,
+        INITIALIZING,
+        INITIALIZED
+    }
+}
@@ -0,0 +1,68 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import java.util.Map;
+import java.util.Objects;
+import lombok.Builder;
+import lombok.Value;
+import lombok.With;
+import org.slf4j.Logger;
+import org.slf4j.MDC;
+
+/**
+ * A handled exception to be logged. The handlers only collect the fields, the message is formatted when it is written.
+ * A buffered event carries the MDC of the request thread, it is restored on the writing thread around the log call.
+ */
+@Value
+@Builder
+class ExceptionLogEvent {
+    Logger logger;
+    ExceptionLogPolicy.LogDecision decision;
+    String type;
+    String requestId;
+    String ip;
+    String api;
+    String module;
+    String code;
+    String desc;
+    Throwable throwable;
+    /* MDC of the request thread, null if the event is written on the request thread. */
+    @With
+    Map<String, String> mdc;
+
+    /**
+     * Formats and writes the event. The stack trace is written only if the decision is FULL.
+     */
+    void write() {
+        if (decision == ExceptionLogPolicy.LogDecision.SUPPRESSED) {
+            return;
+        }
+
+        if (Objects.isNull(mdc)) {
+            log();
+            return;
+        }
+
+        MDC.setContextMap(mdc);
+
+        try {
+            log();
+        } finally {
+            MDC.clear();
+        }
+    }
+
+    private void log() {
+        Throwable stackTrace = decision == ExceptionLogPolicy.LogDecision.FULL ? throwable : null;
+
+        if (Objects.nonNull(code)) {
+            logger.error("Exception Handled RequestId: {}\nType: {}, IP: {}, Api: {}, module: {}, Code: {}, Desc: {}",
+                requestId, type, ip, api, module, code, desc, stackTrace);
+        } else if (Objects.nonNull(requestId)) {
+            logger.error("Exception Handled RequestId: {}\nType: {}, IP: {}, Api: {}, Default-Module: {}",
+                requestId, type, ip, api, module, stackTrace);
+        } else {
+            logger.error("Exception Handled, Type: {}, IP: {}, Api: {}, Default-Module: {}",
+                type, ip, api, module, stackTrace);
+        }
+    }
+}
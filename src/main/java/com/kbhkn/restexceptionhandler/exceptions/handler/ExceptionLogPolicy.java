@@ -0,0 +1,143 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides how an exception is logged, so an error storm doesn't flood the logs.
+ * - Business exceptions: the first occurrence of an (api, module, code) is logged with the stack trace.
+ * After that, the first occurrence in each interval is logged without the stack trace, the others are counted and summarised.
+ * - Generic exceptions: limited by a token bucket, the dropped ones are counted and summarised.
+ */
+@Lazy
+@Slf4j
+@Component
+class ExceptionLogPolicy {
+    enum LogDecision { FULL, WITHOUT_STACK_TRACE, SUPPRESSED }
+
+    private final Map<String, CodeState> codeStates = new ConcurrentHashMap<>();
+    private final LongAdder suppressedGenericExceptions = new LongAdder();
+    private final boolean businessStackTraces;
+    private final long intervalNanos;
+    private final int maximumTrackedCodes;
+    private final TokenBucket genericTokenBucket;
+    private final ScheduledExecutorService summaryWriter;
+
+    ExceptionLogPolicy(ExceptionHandlerPropertiesReader properties) {
+        ExceptionHandlerPropertiesReader.Logging logging = properties.getLogging();
+
+        this.businessStackTraces = logging.isBusinessStackTraces();
+        this.intervalNanos = logging.getSummaryInterval().toNanos();
+        this.maximumTrackedCodes = logging.getMaximumTrackedCodes();
+        this.genericTokenBucket = logging.getGenericPermitsPerSecond() > 0
+            ? new TokenBucket(logging.getGenericPermitsPerSecond(), logging.getGenericBurst())
+            : null;
+
+        if (intervalNanos > 0 || Objects.nonNull(genericTokenBucket)) {
+            long period = intervalNanos > 0 ? intervalNanos : TimeUnit.MINUTES.toNanos(1);
+
+            summaryWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "GEH-log-summary");
+                thread.setDaemon(true);
+                return thread;
+            });
+            summaryWriter.scheduleAtFixedRate(this::writeSummary, period, period, TimeUnit.NANOSECONDS);
+        } else {
+            summaryWriter = null;
+        }
+    }
+
+    /**
+     * Decision for the RestServiceException, RemoteRestServiceException and the field validations.
+     */
+    LogDecision decideBusiness(String api, String module, String code) {
+        LogDecision unlimited = businessStackTraces ? LogDecision.FULL : LogDecision.WITHOUT_STACK_TRACE;
+
+        if (intervalNanos <= 0) {
+            return unlimited;
+        }
+
+        CodeState state = findCodeState(api + '|' + module + '|' + code);
+        if (Objects.isNull(state)) {
+            return unlimited;
+        }
+
+        long interval = System.nanoTime() / intervalNanos;
+        long lastLoggedInterval = state.lastLoggedInterval.get();
+
+        if (lastLoggedInterval == interval || !state.lastLoggedInterval.compareAndSet(lastLoggedInterval, interval)) {
+            state.suppressed.increment();
+            return LogDecision.SUPPRESSED;
+        }
+
+        return businessStackTraces && state.traced.compareAndSet(false, true)
+            ? LogDecision.FULL
+            : LogDecision.WITHOUT_STACK_TRACE;
+    }
+
+    /**
+     * Decision for the generic Exception.class path.
+     */
+    LogDecision decideGeneric() {
+        if (Objects.isNull(genericTokenBucket) || genericTokenBucket.tryAcquire()) {
+            return LogDecision.FULL;
+        }
+
+        suppressedGenericExceptions.increment();
+        return LogDecision.SUPPRESSED;
+    }
+
+    /**
+     * Writes the last summary.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(summaryWriter)) {
+            summaryWriter.shutdownNow();
+            writeSummary();
+        }
+    }
+
+    private CodeState findCodeState(String key) {
+        CodeState state = codeStates.get(key);
+
+        if (Objects.isNull(state) && codeStates.size() < maximumTrackedCodes) {
+            state = codeStates.computeIfAbsent(key, ignored -> new CodeState());
+        }
+
+        return state;
+    }
+
+    private void writeSummary() {
+        codeStates.forEach((key, state) -> {
+            long suppressed = state.suppressed.sumThenReset();
+
+            if (suppressed > 0) {
+                log.error("Exception Summary, Api|Module|Code: {}, {} more occurrences were not logged.", key, suppressed);
+            }
+        });
+
+        long suppressedGeneric = suppressedGenericExceptions.sumThenReset();
+        if (suppressedGeneric > 0) {
+            log.error("Exception Summary, Type: Exception.class, {} more occurrences were not logged.", suppressedGeneric);
+        }
+    }
+
+    private static final class CodeState {
+        private final AtomicBoolean traced = new AtomicBoolean();
+        private final AtomicLong lastLoggedInterval = new AtomicLong(Long.MIN_VALUE);
+        private final LongAdder suppressed = new LongAdder();
+    }
+}
@@ -0,0 +1,199 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Writes the exception logs. If the asynchronous logging is enabled, the request thread only puts the event into a bounded ring buffer,
+ * a background thread formats and writes them with the MDC of the request. When the buffer is full, the event is dropped and counted,
+ * or the request thread waits for the space. A non-blocking (event loop) thread never waits, its event is dropped.
+ * At shutdown, the buffered events are written before the context is closed.
+ */
+@Lazy
+@Slf4j
+@Component
+class ExceptionLogWriter {
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+    private static final long FULL_PARK_NANOS = TimeUnit.MICROSECONDS.toNanos(100);
+    private static final long SHUTDOWN_TIMEOUT_MILLIS = TimeUnit.SECONDS.toMillis(5);
+    private static final boolean REACTOR_PRESENT =
+        ClassUtils.isPresent("reactor.core.scheduler.Schedulers", ExceptionLogWriter.class.getClassLoader());
+
+    private final MpscRingBuffer<ExceptionLogEvent> buffer;
+    private final boolean blockWhenFull;
+    private final LongAdder droppedEvents = new LongAdder();
+    private final LongAdder totalDroppedEvents = new LongAdder();
+    private final Thread consumer;
+    /* The buffer has a single consumer, a producer drains it only at shutdown. */
+    private final Lock drainLock = new ReentrantLock();
+
+    private volatile boolean running;
+    private volatile boolean consumerParked;
+
+    ExceptionLogWriter(ExceptionHandlerPropertiesReader properties, ExceptionHandlerMetrics metrics) {
+        ExceptionHandlerPropertiesReader.Logging logging = properties.getLogging();
+
+        if (logging.isAsynchronous()) {
+            this.buffer = new MpscRingBuffer<>(logging.getBufferSize());
+            this.blockWhenFull = logging.getOverflowPolicy() == ExceptionHandlerPropertiesReader.Logging.OverflowPolicy.BLOCK;
+            this.running = true;
+            this.consumer = new Thread(this::consume, "GEH-log-writer");
+            this.consumer.setDaemon(true);
+            this.consumer.start();
+
+            metrics.gauge("geh.log.events.dropped", "Exception logs dropped, because the log buffer was full.", totalDroppedEvents::sum);
+
+            log.info("--- Api Translations Service's exception logs are asynchronous. Buffer size: {}, Overflow policy: {}",
+                buffer.capacity(), logging.getOverflowPolicy());
+        } else {
+            this.buffer = null;
+            this.blockWhenFull = false;
+            this.consumer = null;
+        }
+    }
+
+    /**
+     * Writes the event on the calling thread, or puts it into the buffer.
+     *
+     * @param event handled exception.
+     */
+    void write(ExceptionLogEvent event) {
+        if (event.getDecision() == ExceptionLogPolicy.LogDecision.SUPPRESSED) {
+            return;
+        }
+
+        if (!running) {
+            event.write();
+            return;
+        }
+
+        ExceptionLogEvent bufferedEvent = withRequestContext(event);
+
+        while (!buffer.offer(bufferedEvent)) {
+            if (!blockWhenFull || isInNonBlockingThread()) {
+                droppedEvents.increment();
+                totalDroppedEvents.increment();
+                return;
+            }
+
+            if (!running) {
+                event.write();
+                return;
+            }
+
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+        }
+
+        // The writer could be stopped after the check above, so nobody else would write the event.
+        if (!running) {
+            drain();
+        } else if (consumerParked) {
+            LockSupport.unpark(consumer);
+        }
+    }
+
+    /**
+     * Stops the consumer after the buffered events are written.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.isNull(consumer)) {
+            return;
+        }
+
+        running = false;
+        LockSupport.unpark(consumer);
+
+        try {
+            consumer.join(SHUTDOWN_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // The events offered while the consumer was stopping.
+        if (!consumer.isAlive()) {
+            drain();
+        }
+    }
+
+    /**
+     * The event is written on another thread, so the MDC of the request is copied into it.
+     */
+    ExceptionLogEvent withRequestContext(ExceptionLogEvent event) {
+        return event.withMdc(MDC.getCopyOfContextMap());
+    }
+
+    private static boolean isInNonBlockingThread() {
+        return REACTOR_PRESENT && ReactorThreads.isInNonBlockingThread();
+    }
+
+    private void consume() {
+        while (running) {
+            if (!drain()) {
+                consumerParked = true;
+
+                if (running && buffer.isEmpty()) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+
+                consumerParked = false;
+            }
+        }
+
+        drain();
+    }
+
+    /**
+     * Writes the buffered events. The consumer and the producers of the shutdown could drain at the same time, they poll one by one.
+     *
+     * @return true if any event is written.
+     */
+    private boolean drain() {
+        boolean written = false;
+        ExceptionLogEvent event;
+
+        drainLock.lock();
+        try {
+            while (Objects.nonNull(event = buffer.poll())) {
+                written = true;
+
+                try {
+                    event.write();
+                } catch (RuntimeException ex) {
+                    log.warn("--- Api Translations Service's exception log couldn't be written.", ex);
+                }
+            }
+        } finally {
+            drainLock.unlock();
+        }
+
+        long dropped = droppedEvents.sumThenReset();
+        if (dropped > 0) {
+            log.warn("Exception Summary, {} exception logs were dropped, the log buffer was full.", dropped);
+        }
+
+        return written;
+    }
+
+    /**
+     * Reactor is optional, it is loaded only if it is present.
+     */
+    private static final class ReactorThreads {
+        static boolean isInNonBlockingThread() {
+            return Schedulers.isInNonBlockingThread();
+        }
+    }
+}
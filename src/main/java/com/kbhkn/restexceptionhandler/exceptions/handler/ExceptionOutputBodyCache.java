@@ -0,0 +1,160 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.Value;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-serialized JSON bodies of the parameterless responses.
+ * A body is serialized once by the application's ObjectMapper around a sentinel timeStamp, then each response splices its own timeStamp in.
+ * So, the bytes are the same as the normal serialization of the ExceptionOutput.
+ */
+@Lazy
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class ExceptionOutputBodyCache {
+    private static final LocalDateTime SENTINEL_TIME_STAMP = LocalDateTime.of(1001, 2, 3, 4, 5, 6, 789_012_345);
+
+    private final ObjectWriter bodyWriter;
+    private final ObjectWriter timeStampWriter;
+    private final Cache<BodyKey, Optional<BodyTemplate>> bodies;
+
+    ExceptionOutputBodyCache(ExceptionHandlerPropertiesReader properties, ObjectProvider<ObjectMapper> objectMapperProvider) {
+        ExceptionHandlerPropertiesReader.ResponseCache responseCache = properties.getResponseCache();
+        ObjectMapper objectMapper = responseCache.isEnabled() ? objectMapperProvider.getIfUnique() : null;
+
+        if (Objects.isNull(objectMapper)) {
+            this.bodyWriter = null;
+            this.timeStampWriter = null;
+            this.bodies = null;
+
+            if (responseCache.isEnabled()) {
+                log.warn("--- Api Translations Service's response cache is disabled, there isn't a unique ObjectMapper in the context.");
+            }
+        } else {
+            this.bodyWriter = objectMapper.writerFor(ExceptionOutput.class);
+            this.timeStampWriter = objectMapper.writerFor(LocalDateTime.class);
+            this.bodies = Caffeine.newBuilder()
+                .maximumSize(responseCache.getMaximumSize())
+                .build();
+
+            log.info("--- Api Translations Service's response cache is created. Maximum size: {}", responseCache.getMaximumSize());
+        }
+    }
+
+    /**
+     * JSON body of the response, if it can be written from the cache.
+     *
+     * @param exceptionOutput prepared response without errors.
+     * @return UTF-8 JSON bytes, empty if the response has to be serialized normally.
+     */
+    Optional<byte[]> serialize(ExceptionOutput exceptionOutput) {
+        if (Objects.isNull(bodies) || !exceptionOutput.getErrors().isEmpty() || Objects.isNull(exceptionOutput.getTimeStamp())) {
+            return Optional.empty();
+        }
+
+        Optional<BodyTemplate> template = bodies.get(BodyKey.of(exceptionOutput), key -> createTemplate(exceptionOutput));
+
+        if (Objects.isNull(template) || template.isEmpty()) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(template.get().render(timeStampWriter.writeValueAsBytes(exceptionOutput.getTimeStamp())));
+        } catch (JsonProcessingException e) {
+            log.warn("--- Api Translations Service's response cache couldn't write the timeStamp, it is serialized normally.", e);
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Splits the serialized body at the sentinel timeStamp. If the sentinel can't be found exactly once, the body isn't cached.
+     */
+    private Optional<BodyTemplate> createTemplate(ExceptionOutput exceptionOutput) {
+        try {
+            byte[] body = bodyWriter.writeValueAsBytes(ExceptionOutput.builder()
+                .api(exceptionOutput.getApi())
+                .code(exceptionOutput.getCode())
+                .desc(exceptionOutput.getDesc())
+                .module(exceptionOutput.getModule())
+                .timeStamp(SENTINEL_TIME_STAMP)
+                .build());
+            byte[] sentinel = timeStampWriter.writeValueAsBytes(SENTINEL_TIME_STAMP);
+
+            int index = indexOf(body, sentinel, 0);
+
+            if (index < 0 || indexOf(body, sentinel, index + 1) >= 0) {
+                log.warn("--- Api Translations Service's response cache can't locate the timeStamp of api: {} module: {} code: {}",
+                    exceptionOutput.getApi(), exceptionOutput.getModule(), exceptionOutput.getCode());
+                return Optional.empty();
+            }
+
+            byte[] prefix = new byte[index];
+            byte[] suffix = new byte[body.length - index - sentinel.length];
+            System.arraycopy(body, 0, prefix, 0, prefix.length);
+            System.arraycopy(body, index + sentinel.length, suffix, 0, suffix.length);
+
+            return Optional.of(new BodyTemplate(prefix, suffix));
+        } catch (JsonProcessingException e) {
+            log.warn("--- Api Translations Service's response cache couldn't serialize the body, it is serialized normally.", e);
+            return Optional.empty();
+        }
+    }
+
+    private static int indexOf(byte[] source, byte[] target, int from) {
+        for (int i = from; i <= source.length - target.length; i++) {
+            int j = 0;
+
+            while (j < target.length && source[i + j] == target[j]) {
+                j++;
+            }
+
+            if (j == target.length) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    @Value(staticConstructor = "of")
+    private static class BodyKey {
+        String api;
+        String module;
+        String code;
+        String desc;
+
+        static BodyKey of(ExceptionOutput exceptionOutput) {
+            return of(exceptionOutput.getApi(), exceptionOutput.getModule(), exceptionOutput.getCode(), exceptionOutput.getDesc());
+        }
+    }
+
+    @Value
+    private static class BodyTemplate {
+        byte[] prefix;
+        byte[] suffix;
+
+        byte[] render(byte[] timeStamp) {
+            byte[] body = new byte[prefix.length + timeStamp.length + suffix.length];
+            System.arraycopy(prefix, 0, body, 0, prefix.length);
+            System.arraycopy(timeStamp, 0, body, prefix.length, timeStamp.length);
+            System.arraycopy(suffix, 0, body, prefix.length + timeStamp.length, suffix.length);
+
+            return body;
+        }
+    }
+}
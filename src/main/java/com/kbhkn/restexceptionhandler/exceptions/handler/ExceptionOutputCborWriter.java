@@ -0,0 +1,95 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+/**
+ * CBOR bodies of the responses, for the other services. A client which prefers application/cbor the most in the Accept header gets the error in CBOR,
+ * the types are ordered by their specificity and quality like the normal content negotiation. Browsers don't list it, so they keep getting JSON.
+ * The timeStamp is written as numbers instead of the ISO text.
+ */
+@Lazy
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+class ExceptionOutputCborWriter {
+    private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private final ObjectWriter bodyWriter;
+
+    ExceptionOutputCborWriter(ExceptionHandlerPropertiesReader properties) {
+        boolean enabled = properties.getCbor().isEnabled() && ClassUtils.isPresent(CBOR_FACTORY, getClass().getClassLoader());
+
+        this.bodyWriter = enabled
+            ? Jackson2ObjectMapperBuilder.cbor()
+                .featuresToEnable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build()
+                .writerFor(ExceptionOutput.class)
+            : null;
+
+        if (enabled) {
+            log.info("--- Api Translations Service's CBOR responses are enabled.");
+        }
+    }
+
+    /**
+     * The body format depends on the Accept header, so the responses should vary by it.
+     *
+     * @return true if the CBOR responses are enabled.
+     */
+    boolean isEnabled() {
+        return Objects.nonNull(bodyWriter);
+    }
+
+    /**
+     * The most preferred media type of the client is application/cbor.
+     *
+     * @param accept Accept header, could be null.
+     * @return true if the body should be written in CBOR.
+     */
+    boolean isAcceptedBy(String accept) {
+        if (Objects.isNull(bodyWriter) || Objects.isNull(accept) || !accept.contains("cbor")) {
+            return false;
+        }
+
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+
+            return !mediaTypes.isEmpty()
+                && MediaType.APPLICATION_CBOR.equalsTypeAndSubtype(mediaTypes.get(0))
+                && mediaTypes.get(0).getQualityValue() > 0;
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
+    /**
+     * CBOR body of the response.
+     *
+     * @param exceptionOutput prepared response.
+     * @return CBOR bytes, empty if the response has to be serialized normally.
+     */
+    Optional<byte[]> serialize(ExceptionOutput exceptionOutput) {
+        try {
+            return Optional.of(bodyWriter.writeValueAsBytes(exceptionOutput));
+        } catch (JsonProcessingException e) {
+            log.warn("--- Api Translations Service's CBOR body couldn't be written, it is serialized normally.", e);
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.filters.RequestIds;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request helpers shared by the servlet and the reactive exception handlers.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class ExceptionRequestSupport {
+    static final String REQUEST_ID_HEADER = RequestIds.REQUEST_ID_HEADER;
+
+    /**
+     * Joins the Accept-Language header lines, a header can be sent as more than one line.
+     *
+     * @param headerValues Accept-Language header lines, could be null.
+     * @return header value, null if there isn't any.
+     */
+    static String getAcceptLanguage(String[] headerValues) {
+        if (Objects.isNull(headerValues) || headerValues.length == 0) {
+            return null;
+        }
+
+        return headerValues.length == 1 ? headerValues[0] : String.join(",", headerValues);
+    }
+
+    /**
+     * Reuses the requestId resolved by the request id filter. Without the filter, uses the requestId in the header and if there is no requestId, then generate it.
+     *
+     * @param resolvedRequestId request attribute of the filter, could be null.
+     * @param orjRequestId      requestId header, could be null.
+     * @return requestId.
+     */
+    static String getRequestId(Object resolvedRequestId, String orjRequestId) {
+        return resolvedRequestId instanceof String
+            ? (String) resolvedRequestId
+            : RequestIds.resolve(orjRequestId);
+    }
+}
@@ -0,0 +1,181 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.repository.ApiErrorFinderRepositoryService;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Negotiates the Accept-Language header against the locales of the api_translations table.
+ * The result is a fallback chain in order of preference, i.e. "en-GB,en;q=0.8" is EN_GB -> EN -> default locale.
+ * Chains are cached per header value, so a request costs one cache hit and the whole chain is looked up at once.
+ */
+@Lazy
+@Slf4j
+@Component
+class LocaleNegotiator {
+    private static final long RETRY_DELAY_NANOS = TimeUnit.SECONDS.toNanos(30);
+
+    /* Created on the refresher thread, never on a request thread or an event loop. */
+    private final ObjectProvider<ApiErrorFinderRepositoryService> apiRepository;
+    private final String defaultLocale;
+    private final Set<String> configuredLocales;
+    private final long refreshIntervalNanos;
+    private final Cache<String, List<String>> chains;
+    private final ScheduledExecutorService localeRefresher;
+
+    /* Replaced as a whole when it is refreshed. Null until the locales are read from the table. */
+    private volatile Set<String> supportedLocales;
+
+    LocaleNegotiator(ObjectProvider<ApiErrorFinderRepositoryService> apiRepository, ExceptionHandlerPropertiesReader properties) {
+        ExceptionHandlerPropertiesReader.Locales locales = properties.getLocales();
+
+        this.apiRepository = apiRepository;
+        this.defaultLocale = toTableLocale(locales.getDefaultLocale());
+        this.configuredLocales = locales.getSupported().stream()
+            .map(LocaleNegotiator::toTableLocale)
+            .collect(Collectors.toUnmodifiableSet());
+        this.refreshIntervalNanos = locales.getRefreshInterval().toNanos();
+        this.chains = Caffeine.newBuilder()
+            .maximumSize(locales.getMaximumChains())
+            .build();
+
+        if (configuredLocales.isEmpty()) {
+            this.localeRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "GEH-locale-refresher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            this.localeRefresher.execute(this::refreshSupportedLocales);
+        } else {
+            this.localeRefresher = null;
+        }
+    }
+
+    /**
+     * Fallback chain of the header.
+     *
+     * @param acceptLanguage Accept-Language header, could be null.
+     * @return locales in order of preference, the default locale is always the last one.
+     */
+    List<String> resolve(String acceptLanguage) {
+        String header = Objects.isNull(acceptLanguage) ? "" : acceptLanguage.trim();
+
+        Set<String> supported = getSupportedLocales();
+
+        List<String> chain = chains.getIfPresent(header);
+        if (Objects.nonNull(chain)) {
+            return chain;
+        }
+
+        chain = createChain(header, supported);
+
+        // A chain which isn't filtered by the table would be long, it is computed again when the locales are known.
+        if (Objects.nonNull(supported) && supported == getSupportedLocales()) {
+            chains.put(header, chain);
+        }
+
+        return chain;
+    }
+
+    private List<String> createChain(String header, Set<String> supported) {
+        Set<String> chain = new LinkedHashSet<>();
+
+        if (!header.isEmpty()) {
+            try {
+                for (Locale.LanguageRange range : Locale.LanguageRange.parse(header)) {
+                    if (range.getWeight() > 0 && !range.getRange().startsWith("*")) {
+                        addCandidates(chain, Locale.forLanguageTag(range.getRange()), supported);
+                    }
+                }
+            } catch (IllegalArgumentException ex) {
+                log.debug("Accept-Language header can't be parsed, the default locale is used: {}", header);
+            }
+        }
+
+        chain.add(defaultLocale);
+
+        return List.copyOf(chain);
+    }
+
+    private void addCandidates(Set<String> chain, Locale locale, Set<String> supported) {
+        String language = locale.getLanguage().toUpperCase(Locale.ROOT);
+
+        if (language.isEmpty()) {
+            return;
+        }
+
+        List<String> candidates = new ArrayList<>(2);
+        if (!locale.getCountry().isEmpty()) {
+            candidates.add(language + "_" + locale.getCountry().toUpperCase(Locale.ROOT));
+        }
+        candidates.add(language);
+
+        candidates.stream()
+            .filter(candidate -> Objects.isNull(supported) || supported.contains(candidate))
+            .forEach(chain::add);
+    }
+
+    /**
+     * Configured locales, or the locales of the table. Null until the table is read, then the chains aren't filtered.
+     */
+    private Set<String> getSupportedLocales() {
+        return configuredLocales.isEmpty() ? supportedLocales : configuredLocales;
+    }
+
+    /**
+     * Reads the locales of the table on the refresher thread, so a request never waits for the table.
+     * A failed read is retried after a short delay.
+     */
+    private void refreshSupportedLocales() {
+        long delay = refreshIntervalNanos;
+
+        try {
+            Set<String> locales = apiRepository.getObject().findLocales();
+
+            if (!locales.equals(supportedLocales)) {
+                supportedLocales = locales;
+                chains.invalidateAll();
+
+                log.info("--- Api Translations Service's locales are loaded: {}", locales);
+            }
+        } catch (RuntimeException ex) {
+            log.error("--- Api Translations Service's locales couldn't be loaded.", ex);
+
+            delay = Math.min(refreshIntervalNanos, RETRY_DELAY_NANOS);
+        }
+
+        if (!localeRefresher.isShutdown()) {
+            localeRefresher.schedule(this::refreshSupportedLocales, delay, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    /**
+     * Stops the locale refresher, if it is running.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(localeRefresher)) {
+            localeRefresher.shutdownNow();
+        }
+    }
+
+    private static String toTableLocale(String locale) {
+        return locale.trim().replace('-', '_').toUpperCase(Locale.ROOT);
+    }
+}
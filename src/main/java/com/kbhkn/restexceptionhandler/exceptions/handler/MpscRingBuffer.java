@@ -0,0 +1,103 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Bounded lock-free queue of many producers and a single consumer.
+ * Each slot has a sequence: a producer claims a position with a CAS on the tail, writes the element, then publishes the slot by its sequence.
+ * The consumer takes the published slots in order and releases them for the next lap. Offering to a full queue fails, it never blocks.
+ *
+ * @param <E> element.
+ */
+final class MpscRingBuffer<E> {
+    private final int mask;
+    private final AtomicReferenceArray<E> elements;
+    private final AtomicLongArray sequences;
+    private final AtomicLong tail = new AtomicLong();
+
+    /* Only the consumer reads and writes it. */
+    private long head;
+
+    /**
+     * Creates the queue.
+     *
+     * @param capacity rounded up to a power of two.
+     */
+    MpscRingBuffer(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity) - 1) << 1;
+
+        this.mask = size - 1;
+        this.elements = new AtomicReferenceArray<>(size);
+        this.sequences = new AtomicLongArray(size);
+
+        for (int i = 0; i < size; i++) {
+            sequences.set(i, i);
+        }
+    }
+
+    /**
+     * Adds the element, any thread can call it.
+     *
+     * @return false if the queue is full.
+     */
+    boolean offer(E element) {
+        Objects.requireNonNull(element);
+
+        long position = tail.get();
+
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    elements.lazySet(index, element);
+                    sequences.set(index, position + 1);
+                    return true;
+                }
+
+                position = tail.get();
+            } else if (difference < 0) {
+                // The slot of the previous lap isn't consumed yet.
+                return false;
+            } else {
+                // Another producer has claimed the position.
+                position = tail.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the next element, only the consumer calls it.
+     *
+     * @return null if there isn't a published element.
+     */
+    E poll() {
+        int index = (int) (head & mask);
+
+        if (sequences.get(index) != head + 1) {
+            return null;
+        }
+
+        E element = elements.get(index);
+        elements.lazySet(index, null);
+        sequences.lazySet(index, head + mask + 1);
+        head++;
+
+        return element;
+    }
+
+    /**
+     * Only the consumer calls it.
+     */
+    boolean isEmpty() {
+        return sequences.get((int) (head & mask)) != head + 1;
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+}
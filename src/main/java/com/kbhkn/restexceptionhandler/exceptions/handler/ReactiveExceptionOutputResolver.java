@@ -0,0 +1,73 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
+import com.kbhkn.restexceptionhandler.exceptions.types.RestServiceException;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Callable;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.FieldError;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking side of the {@link ServiceExceptionUtil} for the reactive handler.
+ * Cached definitions are resolved on the calling thread without loading, others are looked up on a bounded elastic scheduler.
+ * JDBC never runs on the event loop.
+ */
+@Lazy
+@Slf4j
+@Component
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+class ReactiveExceptionOutputResolver {
+    private final ServiceExceptionUtil exceptionUtil;
+    private final Scheduler lookupScheduler;
+
+    ReactiveExceptionOutputResolver(ServiceExceptionUtil exceptionUtil, ExceptionHandlerPropertiesReader properties) {
+        this.exceptionUtil = exceptionUtil;
+
+        ExceptionHandlerPropertiesReader.Reactive reactive = properties.getReactive();
+        this.lookupScheduler = Schedulers.newBoundedElastic(reactive.getLookupThreads(), reactive.getLookupQueueSize(), "GEH-lookup");
+
+        log.info("--- Reactive Exception Handler's lookup scheduler is created. Threads: {}, Queue: {}",
+            reactive.getLookupThreads(), reactive.getLookupQueueSize());
+    }
+
+    Mono<ExceptionOutput> prepareExceptionOutput(RestServiceException ex, List<String> locales) {
+        return resolve(() -> exceptionUtil.prepareExceptionOutputLocally(ex, locales), () -> exceptionUtil.prepareExceptionOutput(ex, locales));
+    }
+
+    Mono<ExceptionOutput> prepareDefaultExceptionOutput(List<String> locales) {
+        return resolve(() -> exceptionUtil.prepareDefaultExceptionOutputLocally(locales), () -> exceptionUtil.prepareDefaultExceptionOutput(locales));
+    }
+
+    Mono<ExceptionOutput> prepareMethodArgumentNotValid(List<FieldError> fieldErrors, List<String> locales) {
+        return resolve(() -> exceptionUtil.prepareMethodArgumentNotValidLocally(fieldErrors, locales),
+            () -> exceptionUtil.prepareMethodArgumentNotValid(fieldErrors, locales));
+    }
+
+    /**
+     * Stops the lookup scheduler.
+     */
+    @PreDestroy
+    public void destroy() {
+        lookupScheduler.dispose();
+    }
+
+    /**
+     * Prepares with the locally known definitions on the calling thread, the preparation never loads there.
+     * On any miss, the loading preparation runs on the lookup scheduler.
+     */
+    private Mono<ExceptionOutput> resolve(Supplier<Optional<ExceptionOutput>> localPreparation, Callable<ExceptionOutput> preparation) {
+        return Mono.defer(() -> localPreparation.get()
+            .map(Mono::just)
+            .orElseGet(() -> Mono.fromCallable(preparation).subscribeOn(lookupScheduler)));
+    }
+}
@@ -0,0 +1,228 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
+import com.kbhkn.restexceptionhandler.exceptions.types.RemoteRestServiceException;
+import com.kbhkn.restexceptionhandler.exceptions.types.RestServiceException;
+import com.kbhkn.restexceptionhandler.filters.RequestIds;
+import com.kbhkn.restexceptionhandler.hotspots.ErrorCodeHotspots;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.bind.support.WebExchangeBindException;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Mono;
+
+/**
+ * Global exception handler for the reactive (WebFlux) projects. It is used instead of {@link RestExceptionHandler} when the application is reactive.
+ * Produces the same {@link ExceptionOutput}, but never blocks the event loop for the translation lookups.
+ */
+@Lazy
+@Slf4j
+@RestControllerAdvice
+@RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+public class ReactiveRestExceptionHandler {
+    private final ExceptionHandlerPropertiesReader properties;
+    private final ServiceExceptionUtil exceptionUtil;
+    private final ReactiveExceptionOutputResolver outputResolver;
+    private final ExceptionLogPolicy logPolicy;
+    private final ExceptionLogWriter logWriter;
+    private final ExceptionHandlerMetrics metrics;
+    private final ErrorCodeHotspots hotspots;
+    private final LocaleNegotiator localeNegotiator;
+
+    @Value("${spring.application.name}")
+    private String appName;
+
+    /**
+     * Catches RestServiceException(Exp: UserException.class) than gets error description from the database by error code.
+     *
+     * @param ex       exception
+     * @param exchange app request
+     * @return prepared exception response.
+     */
+    @ExceptionHandler(value = {RestServiceException.class})
+    public Mono<ResponseEntity<ExceptionOutput>> handleRestServiceException(RestServiceException ex, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        List<String> locales = getApplicationLanguages(request);
+        var requestId = getRequestId(exchange);
+
+        return outputResolver.prepareExceptionOutput(ex, locales)
+            .doOnNext(exceptionOutput -> logWriter.write(ExceptionLogEvent.builder()
+                .logger(log)
+                .decision(logPolicy.decideBusiness(ex.getApi(), ex.getModule(), ex.getCode()))
+                .type("RestServiceException")
+                .requestId(requestId)
+                .ip(getRemoteIpAddressFromRequest(request))
+                .api(ex.getApi())
+                .module(ex.getModule())
+                .code(ex.getCode())
+                .desc(exceptionOutput.getDesc())
+                .throwable(ex)
+                .build()))
+            .doOnNext(exceptionOutput -> metrics.exceptionHandled(ExceptionHandlerMetrics.REST_SERVICE_EXCEPTION, ex.getApi(), ex.getModule(), exceptionOutput.getCode(), locales.get(0)))
+            .doOnNext(exceptionOutput -> hotspots.record(ex.getApi(), ex.getModule(), exceptionOutput.getCode()))
+            .map(exceptionOutput -> ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(exceptionOutput));
+    }
+
+    /**
+     * Catches RemoteRestServiceException. It is already prepared by the remote service, just passing data and throws again.
+     *
+     * @param ex       exception
+     * @param exchange a request created by the user.
+     * @return prepared exception response.
+     */
+    @ExceptionHandler(value = {RemoteRestServiceException.class})
+    public Mono<ResponseEntity<ExceptionOutput>> handleRemoteServiceException(RemoteRestServiceException ex, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        var requestId = getRequestId(exchange);
+
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideBusiness(ex.getApi(), ex.getModule(), ex.getCode()))
+            .type("RemoteServiceException")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(ex.getApi())
+            .module(ex.getModule())
+            .code(ex.getCode())
+            .desc(ex.getDesc())
+            .throwable(ex)
+            .build());
+
+        metrics.exceptionHandled(ExceptionHandlerMetrics.REMOTE_SERVICE_EXCEPTION, ex.getApi(), ex.getModule(), ex.getCode(), null);
+        hotspots.record(ex.getApi(), ex.getModule(), ex.getCode());
+
+        return Mono.just(ResponseEntity.status(HttpStatus.EXPECTATION_FAILED).body(exceptionUtil.prepareRemoteExceptionOutput(ex)));
+    }
+
+    /**
+     * Field validations of the request body.
+     *
+     * @param ex       validation exception.
+     * @param exchange a request created by the user.
+     * @return prepared exception response.
+     */
+    @ExceptionHandler(value = {WebExchangeBindException.class})
+    public Mono<ResponseEntity<ExceptionOutput>> handleWebExchangeBindException(WebExchangeBindException ex, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideBusiness(appName, ServiceExceptionUtil.METHOD_NOT_VALID_MODULE, ServiceExceptionUtil.METHOD_NOT_VALID_CODE))
+            .type("FieldValidation")
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(appName)
+            .module(properties.getDefaultErrorModule())
+            .throwable(ex)
+            .build());
+
+        List<String> locales = getApplicationLanguages(request);
+
+        return outputResolver.prepareMethodArgumentNotValid(ex.getBindingResult().getFieldErrors(), locales)
+            .map(exceptionOutput -> {
+                metrics.exceptionHandled(ExceptionHandlerMetrics.FIELD_VALIDATION, appName, exceptionOutput.getModule(), exceptionOutput.getCode(), locales.get(0));
+                hotspots.record(appName, exceptionOutput.getModule(), exceptionOutput.getCode());
+
+                return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(exceptionOutput);
+            });
+    }
+
+    /**
+     * ResponseStatusException of the controllers and of their argument resolution, i.e. ServerWebInputException (400).
+     * Their status and headers are kept, only the body is prepared like the generic exception.
+     * The request mapping errors (404 of an unknown path, 405, 415) are raised before a controller is selected, so they don't reach this advice.
+     *
+     * @param ex       exception with a status.
+     * @param exchange a request created by the user.
+     * @return prepared exception response.
+     */
+    @ExceptionHandler(value = {ResponseStatusException.class})
+    public Mono<ResponseEntity<ExceptionOutput>> handleResponseStatusException(ResponseStatusException ex, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        var requestId = getRequestId(exchange);
+
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideGeneric())
+            .type("ResponseStatusException")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(appName)
+            .module(properties.getDefaultErrorModule())
+            .throwable(ex)
+            .build());
+
+        List<String> locales = getApplicationLanguages(request);
+
+        return outputResolver.prepareDefaultExceptionOutput(locales)
+            .doOnNext(exceptionOutput -> metrics.exceptionHandled(ExceptionHandlerMetrics.RESPONSE_STATUS_EXCEPTION, appName, exceptionOutput.getModule(), exceptionOutput.getCode(), locales.get(0)))
+            .doOnNext(exceptionOutput -> hotspots.record(appName, exceptionOutput.getModule(), exceptionOutput.getCode()))
+            .map(exceptionOutput -> ResponseEntity.status(ex.getStatus()).headers(ex.getResponseHeaders()).body(exceptionOutput));
+    }
+
+    /**
+     * Generic exception.
+     *
+     * @param ex       any Exception excepts, RestServiceException, RemoteRestServiceException and ResponseStatusException.
+     * @param exchange a request created by the user.
+     * @return prepared exception response.
+     */
+    @ExceptionHandler(value = {Exception.class})
+    public Mono<ResponseEntity<ExceptionOutput>> handleGeneralExceptions(Exception ex, ServerWebExchange exchange) {
+        ServerHttpRequest request = exchange.getRequest();
+        var requestId = getRequestId(exchange);
+
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideGeneric())
+            .type("Exception.class")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(appName)
+            .module(properties.getDefaultErrorModule())
+            .throwable(ex)
+            .build());
+
+        List<String> locales = getApplicationLanguages(request);
+
+        return outputResolver.prepareDefaultExceptionOutput(locales)
+            .doOnNext(exceptionOutput -> metrics.exceptionHandled(ExceptionHandlerMetrics.EXCEPTION, appName, exceptionOutput.getModule(), exceptionOutput.getCode(), locales.get(0)))
+            .doOnNext(exceptionOutput -> hotspots.record(appName, exceptionOutput.getModule(), exceptionOutput.getCode()))
+            .map(exceptionOutput -> ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(exceptionOutput));
+    }
+
+    private String getRemoteIpAddressFromRequest(ServerHttpRequest request) {
+        InetSocketAddress remoteAddress = request.getRemoteAddress();
+
+        return Objects.isNull(remoteAddress) || Objects.isNull(remoteAddress.getAddress())
+            ? null
+            : remoteAddress.getAddress().getHostAddress();
+    }
+
+    private List<String> getApplicationLanguages(ServerHttpRequest request) {
+        List<String> acceptLanguage = request.getHeaders().get(HttpHeaders.ACCEPT_LANGUAGE);
+
+        return localeNegotiator.resolve(ExceptionRequestSupport.getAcceptLanguage(
+            Objects.isNull(acceptLanguage) ? null : acceptLanguage.toArray(String[]::new)));
+    }
+
+    private String getRequestId(ServerWebExchange exchange) {
+        return ExceptionRequestSupport.getRequestId(exchange.getAttribute(RequestIds.REQUEST_ID_ATTRIBUTE),
+            exchange.getRequest().getHeaders().getFirst(ExceptionRequestSupport.REQUEST_ID_HEADER));
+    }
+}
@@ -4,20 +4,26 @@ import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesR
 import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
 import com.kbhkn.restexceptionhandler.exceptions.types.RemoteRestServiceException;
 import com.kbhkn.restexceptionhandler.exceptions.types.RestServiceException;
+import com.kbhkn.restexceptionhandler.filters.RequestIds;
+import com.kbhkn.restexceptionhandler.hotspots.ErrorCodeHotspots;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
 import java.util.List;
-import java.util.Locale;
 import java.util.Objects;
-import java.util.stream.Collectors;
+import java.util.Optional;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
@@ -32,9 +38,17 @@ import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExcep
 @Slf4j
 @RestControllerAdvice
 @RequiredArgsConstructor
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
 public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     private final ExceptionHandlerPropertiesReader properties;
     private final ServiceExceptionUtil exceptionUtil;
+    private final ExceptionLogPolicy logPolicy;
+    private final ExceptionLogWriter logWriter;
+    private final ExceptionHandlerMetrics metrics;
+    private final ErrorCodeHotspots hotspots;
+    private final LocaleNegotiator localeNegotiator;
+    private final ExceptionOutputBodyCache bodyCache;
+    private final ExceptionOutputCborWriter cborWriter;
 
     @Value("${spring.application.name}")
     private String appName;
@@ -48,13 +62,30 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
      */
     @ExceptionHandler(value = {RestServiceException.class})
     protected ResponseEntity<Object> handleRestServiceException(RestServiceException ex, WebRequest request) {
-        String locale = getApplicationLanguage(request);
+        List<String> locales = getApplicationLanguages(request);
         var requestId = getRequestId(request);
 
-        ExceptionOutput exceptionOutput = exceptionUtil.prepareExceptionOutput(ex, locale);
+        ExceptionOutput exceptionOutput = exceptionUtil.prepareExceptionOutput(ex, locales);
 
-        log.error("Exception Handled RequestId: {}\nType: RestServiceException, IP: {}, Api: {}, module: {}, Code: {}, Desc: {}",
-            requestId, getRemoteIpAddressFromRequest(request), ex.getApi(), ex.getModule(), ex.getCode(), exceptionOutput.getDesc(), ex);
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideBusiness(ex.getApi(), ex.getModule(), ex.getCode()))
+            .type("RestServiceException")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(ex.getApi())
+            .module(ex.getModule())
+            .code(ex.getCode())
+            .desc(exceptionOutput.getDesc())
+            .throwable(ex)
+            .build());
+
+        metrics.exceptionHandled(ExceptionHandlerMetrics.REST_SERVICE_EXCEPTION, ex.getApi(), ex.getModule(), exceptionOutput.getCode(), locales.get(0));
+        hotspots.record(ex.getApi(), ex.getModule(), exceptionOutput.getCode());
+
+        if (ex.getParameters().isEmpty()) {
+            return handleParameterlessException(ex, exceptionOutput, HttpStatus.EXPECTATION_FAILED, request);
+        }
 
         return handleExceptionInternal(ex, exceptionOutput, new HttpHeaders(), HttpStatus.EXPECTATION_FAILED, request);
     }
@@ -71,11 +102,24 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     protected ResponseEntity<Object> handleRemoteServiceException(RemoteRestServiceException ex, WebRequest request) {
         var requestId = getRequestId(request);
 
-        log.error("Exception Handled RequestId: {}\nType: RemoteServiceException, IP: {}, Api: {}, module: {}, Code: {}, Desc: {}",
-            requestId, getRemoteIpAddressFromRequest(request), ex.getApi(), ex.getModule(), ex.getCode(), ex.getDesc(), ex);
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideBusiness(ex.getApi(), ex.getModule(), ex.getCode()))
+            .type("RemoteServiceException")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(ex.getApi())
+            .module(ex.getModule())
+            .code(ex.getCode())
+            .desc(ex.getDesc())
+            .throwable(ex)
+            .build());
 
         ExceptionOutput exceptionOutput = exceptionUtil.prepareRemoteExceptionOutput(ex);
 
+        metrics.exceptionHandled(ExceptionHandlerMetrics.REMOTE_SERVICE_EXCEPTION, ex.getApi(), ex.getModule(), ex.getCode(), null);
+        hotspots.record(ex.getApi(), ex.getModule(), ex.getCode());
+
         return handleExceptionInternal(ex, exceptionOutput, new HttpHeaders(), HttpStatus.EXPECTATION_FAILED, request);
     }
 
@@ -90,66 +134,142 @@ public class RestExceptionHandler extends ResponseEntityExceptionHandler {
     protected ResponseEntity<Object> handleGeneralExceptions(Exception ex, WebRequest request) {
         var requestId = getRequestId(request);
 
-        log.error("Exception Handled RequestId: {}\nType: Exception.class, IP: {}, Api: {}, Default-Module: {}",
-            requestId, getRemoteIpAddressFromRequest(request), appName, properties.getDefaultErrorModule(), ex);
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideGeneric())
+            .type("Exception.class")
+            .requestId(requestId)
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(appName)
+            .module(properties.getDefaultErrorModule())
+            .throwable(ex)
+            .build());
 
-        String locale = getApplicationLanguage(request);
+        List<String> locales = getApplicationLanguages(request);
 
-        ExceptionOutput exceptionOutput = exceptionUtil.prepareDefaultExceptionOutput(locale);
+        ExceptionOutput exceptionOutput = exceptionUtil.prepareDefaultExceptionOutput(locales);
 
-        return handleExceptionInternal(ex, exceptionOutput, new HttpHeaders(), HttpStatus.INTERNAL_SERVER_ERROR,
-            request);
+        metrics.exceptionHandled(ExceptionHandlerMetrics.EXCEPTION, appName, exceptionOutput.getModule(), exceptionOutput.getCode(), locales.get(0));
+        hotspots.record(appName, exceptionOutput.getModule(), exceptionOutput.getCode());
+
+        return handleParameterlessException(ex, exceptionOutput, HttpStatus.INTERNAL_SERVER_ERROR, request);
     }
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(MethodArgumentNotValidException ex,
                                                                   HttpHeaders headers, HttpStatus status,
                                                                   WebRequest request) {
-        log.error("Exception Handled, Type: FieldValidation, IP: {}, Api: {}, Default-Module: {}",
-            getRemoteIpAddressFromRequest(request), appName, properties.getDefaultErrorModule(), ex);
-
-        List<String> errors = ex.getBindingResult().getFieldErrors().stream()
-            .map(error -> "'" + error.getField() + "' field is wrong. " + error.getDefaultMessage())
-            .collect(Collectors.toList());
+        logWriter.write(ExceptionLogEvent.builder()
+            .logger(log)
+            .decision(logPolicy.decideBusiness(appName, ServiceExceptionUtil.METHOD_NOT_VALID_MODULE, ServiceExceptionUtil.METHOD_NOT_VALID_CODE))
+            .type("FieldValidation")
+            .ip(getRemoteIpAddressFromRequest(request))
+            .api(appName)
+            .module(properties.getDefaultErrorModule())
+            .throwable(ex)
+            .build());
 
-        String locale = getApplicationLanguage(request);
+        List<String> locales = getApplicationLanguages(request);
 
-        ExceptionOutput exceptionOutput = exceptionUtil.prepareMethodArgumentNotValid(locale);
+        ExceptionOutput exceptionOutput = exceptionUtil.prepareMethodArgumentNotValid(ex.getBindingResult().getFieldErrors(), locales);
 
-        exceptionOutput.getErrors().addAll(errors);
+        metrics.exceptionHandled(ExceptionHandlerMetrics.FIELD_VALIDATION, appName, exceptionOutput.getModule(), exceptionOutput.getCode(), locales.get(0));
+        hotspots.record(appName, exceptionOutput.getModule(), exceptionOutput.getCode());
 
         return handleExceptionInternal(ex, exceptionOutput, headers, HttpStatus.BAD_REQUEST, request);
     }
 
+    /**
+     * Writes the body in CBOR if the client prefers it the most, i.e. another service. Otherwise, the body is serialized normally.
+     * While CBOR is enabled, the responses vary by the Accept header, so a shared cache doesn't serve a CBOR body to a JSON client.
+     */
+    @Override
+    protected ResponseEntity<Object> handleExceptionInternal(Exception ex, Object body, HttpHeaders headers, HttpStatus status,
+                                                             WebRequest request) {
+        if (!cborWriter.isEnabled()) {
+            return super.handleExceptionInternal(ex, body, headers, status, request);
+        }
+
+        HttpHeaders negotiatedHeaders = new HttpHeaders();
+        negotiatedHeaders.putAll(headers);
+
+        if (!negotiatedHeaders.getVary().contains(HttpHeaders.ACCEPT)) {
+            negotiatedHeaders.add(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+
+        if (body instanceof ExceptionOutput && cborWriter.isAcceptedBy(request.getHeader(HttpHeaders.ACCEPT))) {
+            Optional<byte[]> cborBody = cborWriter.serialize((ExceptionOutput) body);
+
+            if (cborBody.isPresent()) {
+                negotiatedHeaders.setContentType(MediaType.APPLICATION_CBOR);
+
+                return super.handleExceptionInternal(ex, cborBody.get(), negotiatedHeaders, status, request);
+            }
+        }
+
+        return super.handleExceptionInternal(ex, body, negotiatedHeaders, status, request);
+    }
+
+    /**
+     * Writes the pre-serialized JSON body if the client accepts JSON, otherwise the body is serialized normally.
+     */
+    private ResponseEntity<Object> handleParameterlessException(Exception ex, ExceptionOutput exceptionOutput, HttpStatus status,
+                                                                WebRequest request) {
+        HttpHeaders headers = new HttpHeaders();
+
+        if (acceptsJson(request) && !cborWriter.isAcceptedBy(request.getHeader(HttpHeaders.ACCEPT))) {
+            Optional<byte[]> body = bodyCache.serialize(exceptionOutput);
+
+            if (body.isPresent()) {
+                headers.setContentType(MediaType.APPLICATION_JSON);
+                return handleExceptionInternal(ex, body.get(), headers, status, request);
+            }
+        }
+
+        return handleExceptionInternal(ex, exceptionOutput, headers, status, request);
+    }
+
+    /**
+     * The most preferred media type of the client is compatible with JSON, or the client doesn't care.
+     */
+    private boolean acceptsJson(WebRequest request) {
+        String accept = request.getHeader(HttpHeaders.ACCEPT);
+
+        if (Objects.isNull(accept) || accept.isBlank()) {
+            return true;
+        }
+
+        try {
+            List<MediaType> mediaTypes = MediaType.parseMediaTypes(accept);
+            MediaType.sortBySpecificityAndQuality(mediaTypes);
+
+            return !mediaTypes.isEmpty() && mediaTypes.get(0).isCompatibleWith(MediaType.APPLICATION_JSON);
+        } catch (InvalidMediaTypeException e) {
+            return false;
+        }
+    }
+
     private String getRemoteIpAddressFromRequest(WebRequest request) {
         return ((ServletWebRequest) request).getRequest().getRemoteAddr();
     }
 
     /**
-     * Finds the users' application language plus, if it can't find, returns TR by default.
+     * Negotiates the users' application language, the configured default locale is the last fallback.
      *
      * @param request users' request.
-     * @return lang.
+     * @return fallback chain of the lang.
      */
-    private String getApplicationLanguage(WebRequest request) {
-        String lang = request.getLocale().getLanguage();
-
-        return lang.equals("")
-            ? Locale.forLanguageTag("tr-TR").getLanguage().toUpperCase()
-            : lang.toUpperCase();
-
+    private List<String> getApplicationLanguages(WebRequest request) {
+        return localeNegotiator.resolve(ExceptionRequestSupport.getAcceptLanguage(request.getHeaderValues(HttpHeaders.ACCEPT_LANGUAGE)));
     }
 
     /**
-     * Finds requestId in the header and if there is no requestId, then generate it.
+     * Reuses the requestId of the filter, otherwise finds requestId in the header and if there is no requestId, then generate it.
      *
      * @return requestId.
      */
     private String getRequestId(WebRequest request) {
-        var orjRequestId = request.getHeader("RequestId");
-
-        return Objects.nonNull(orjRequestId) && orjRequestId.length() > 7
-            ? orjRequestId
-            : Long.toHexString(Double.doubleToLongBits(Math.random()));
+        return ExceptionRequestSupport.getRequestId(request.getAttribute(RequestIds.REQUEST_ID_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST),
+            request.getHeader(ExceptionRequestSupport.REQUEST_ID_HEADER));
     }
 }
\ No newline at end of file
@@ -4,17 +4,29 @@ import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesR
 import com.kbhkn.restexceptionhandler.exceptions.model.ExceptionOutput;
 import com.kbhkn.restexceptionhandler.exceptions.types.RemoteRestServiceException;
 import com.kbhkn.restexceptionhandler.exceptions.types.RestServiceException;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
 import com.kbhkn.restexceptionhandler.repository.ApiErrorFinderRepositoryService;
-import java.text.MessageFormat;
+import com.kbhkn.restexceptionhandler.repository.TranslationKey;
+import com.kbhkn.restexceptionhandler.repository.TranslationResult;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.MessageSourceResolvable;
 import org.springframework.context.annotation.Lazy;
 import org.springframework.stereotype.Component;
+import org.springframework.util.ObjectUtils;
+import org.springframework.validation.FieldError;
 
 /**
  * Prepares of exception responses!.
@@ -26,19 +38,44 @@ import org.springframework.stereotype.Component;
 @Component
 @RequiredArgsConstructor
 class ServiceExceptionUtil {
-    private static final String METHOD_NOT_VALID_CODE = "999";
-    private final ApiErrorFinderRepositoryService apiRepository;
+    static final String METHOD_NOT_VALID_CODE = "999";
+    static final String METHOD_NOT_VALID_MODULE = "Self";
+    private static final Pattern FIELD_INDEXES = Pattern.compile("\\[[^\\]]*\\]");
+
+    /* The repository opens the pool and may load the snapshot when it is created, so it is created on a thread which can block. */
+    private final ObjectProvider<ApiErrorFinderRepositoryService> apiRepositoryProvider;
     private final ExceptionHandlerPropertiesReader properties;
+    private final ExceptionHandlerMetrics metrics;
 
     @Value("${spring.application.name}")
     private String appName;
 
-    ExceptionOutput prepareDefaultExceptionOutput(String lang) {
+    /* Null until the repository is created by a loading lookup. */
+    private volatile ApiErrorFinderRepositoryService apiRepository;
+
+    ExceptionOutput prepareDefaultExceptionOutput(List<String> locales) {
+        return prepareDefaultExceptionOutput(useDefaultErrorDefinition(appName, locales));
+    }
+
+    /**
+     * Prepares the default response only with the definitions known without a database query.
+     *
+     * @param locales fallback chain of the application language.
+     * @return prepared exception, empty if any of the definitions isn't known locally.
+     */
+    Optional<ExceptionOutput> prepareDefaultExceptionOutputLocally(List<String> locales) {
+        List<TranslationKey> defaultKeys = defaultTranslationKeys(appName, locales);
+
+        return findTranslationsIfPresent(defaultKeys)
+            .map(translations -> prepareDefaultExceptionOutput(useDefaultErrorDefinition(appName, firstTranslation(defaultKeys, translations))));
+    }
+
+    private ExceptionOutput prepareDefaultExceptionOutput(String desc) {
         return ExceptionOutput.builder()
             .api(appName)
             .code(properties.getDefaultErrorCode())
             .module(properties.getDefaultErrorModule())
-            .desc(useDefaultErrorDefinition(appName, lang))
+            .desc(desc)
             .timeStamp(LocalDateTime.now())
             .build();
     }
@@ -53,42 +90,108 @@ class ServiceExceptionUtil {
             .build();
     }
 
-    ExceptionOutput prepareMethodArgumentNotValid(String lang) {
-        return prepareExceptionOutput(appName, "Self", METHOD_NOT_VALID_CODE, null, lang);
+    /**
+     * Field validation response. The definition of the response and the definitions of the field errors are fetched together in one lookup.
+     * A field error is defined by "constraint.field" or "constraint" (i.e. NotNull.email, NotNull) in the METHOD_NOT_VALID_MODULE of the application,
+     * with the parameters {0} field, {1} rejected value and {2},...{N} constraint attributes in alphabetical order (i.e. max, min of the Size).
+     * An undefined field error is written in English as before.
+     *
+     * @param fieldErrors field errors of the request.
+     * @param locales     fallback chain of the application language.
+     * @return prepared exception with the field errors.
+     */
+    ExceptionOutput prepareMethodArgumentNotValid(List<FieldError> fieldErrors, List<String> locales) {
+        return prepareMethodArgumentNotValid(fieldErrors, locales,
+            apiRepository().findTranslations(methodArgumentNotValidKeys(fieldErrors, locales)));
+    }
+
+    /**
+     * Prepares the field validation response only with the definitions known without a database query.
+     *
+     * @return prepared exception with the field errors, empty if any of the definitions isn't known locally.
+     */
+    Optional<ExceptionOutput> prepareMethodArgumentNotValidLocally(List<FieldError> fieldErrors, List<String> locales) {
+        return findTranslationsIfPresent(methodArgumentNotValidKeys(fieldErrors, locales))
+            .map(translations -> prepareMethodArgumentNotValid(fieldErrors, locales, translations));
+    }
+
+    public ExceptionOutput prepareExceptionOutput(RestServiceException ex, List<String> locales) {
+        return prepareExceptionOutput(ex.getApi(), ex.getModule(), ex.getCode(), ex.getParameters(), locales);
+    }
+
+    /**
+     * Prepares the response of the exception only with the definitions known without a database query.
+     *
+     * @return prepared exception, empty if any of the definitions isn't known locally.
+     */
+    Optional<ExceptionOutput> prepareExceptionOutputLocally(RestServiceException ex, List<String> locales) {
+        String errCode = Optional.ofNullable(ex.getCode()).orElse(properties.getDefaultErrorCode());
+
+        return findTranslationsIfPresent(translationKeys(ex.getApi(), ex.getModule(), errCode, locales))
+            .map(translations -> prepareExceptionOutput(ex.getApi(), ex.getModule(), errCode, ex.getParameters(), locales, translations));
     }
 
-    public ExceptionOutput prepareExceptionOutput(RestServiceException ex, String lang) {
-        return prepareExceptionOutput(ex.getApi(), ex.getModule(), ex.getCode(), ex.getParameters(), lang);
+    private ExceptionOutput prepareMethodArgumentNotValid(List<FieldError> fieldErrors, List<String> locales,
+                                                          Map<TranslationKey, TranslationResult> translations) {
+        ExceptionOutput exceptionOutput =
+            prepareExceptionOutput(appName, METHOD_NOT_VALID_MODULE, METHOD_NOT_VALID_CODE, null, locales, translations);
+
+        for (FieldError fieldError : fieldErrors) {
+            exceptionOutput.getErrors().add(fieldErrorMessage(fieldError, locales, translations));
+        }
+
+        return exceptionOutput;
     }
 
     /**
      * Fetches i18n error descriptions by error-code from the database.
+     * The requested code and the default code are fetched together in each locale of the chain, so an undefined code costs one round-trip.
+     *
+     * @param api     which api.
+     * @param code    error code
+     * @param module  which micro-service threw the exception.
+     * @param locales fallback chain of the application language, in order of preference.
+     * @return prepared exception
+     */
+    private ExceptionOutput prepareExceptionOutput(String api, String module, String code, List<String> parameters, List<String> locales) {
+        String errCode = Optional.ofNullable(code).orElse(properties.getDefaultErrorCode());
+
+        return prepareExceptionOutput(api, module, errCode, parameters, locales,
+            apiRepository().findTranslations(translationKeys(api, module, errCode, locales)));
+    }
+
+    /**
+     * Prepares the exception with the already fetched definitions.
      *
-     * @param api    which api.
-     * @param code   error code
-     * @param module which micro-service threw the exception.
-     * @param lang   application language.
+     * @param translations fetched definitions, including the requested and the default definitions.
      * @return prepared exception
      */
-    private ExceptionOutput prepareExceptionOutput(String api, String module, String code, List<String> parameters, String lang) {
+    private ExceptionOutput prepareExceptionOutput(String api, String module, String code, List<String> parameters, List<String> locales,
+                                                   Map<TranslationKey, TranslationResult> translations) {
         String errCode = Optional.ofNullable(code).orElse(properties.getDefaultErrorCode());
 
         String errDesc;
         String prefix = "";
 
-        Optional<String> optExceptionMessage =
-            apiRepository.findErrorDescription(api, module, code, lang);
+        TranslationResult exceptionMessage = firstTranslation(requestedTranslationKeys(api, module, errCode, locales), translations);
 
-        if (optExceptionMessage.isPresent()) {
-            errDesc = formatExceptionMessageBy(optExceptionMessage.get(), parameters);
+        if (exceptionMessage.isUnavailable()) {
+            // Database can't answer in time, it isn't known whether the definition exists. So, it isn't marked as ND_.
+            log.error("Could not look up exception definition for module: {} code: {}", module, errCode);
+
+            metrics.defaultMessageUsed(api, "unavailable");
+            errDesc = properties.getDefaultErrorMessage();
+        } else if (exceptionMessage.isFound()) {
+            errDesc = exceptionMessage.getTranslation().format(parameters);
         } else {
             log.error("Could not find exception definition for module: {} code: {}", module, errCode);
             if (!properties.getDefaultErrorCode().equalsIgnoreCase(errCode)) {
                 //The exception already exists, but it is not defined(ND) in the api_translation_table.
                 prefix = "ND_";
+                metrics.notDefined(api, module);
             }
 
-            errDesc = useDefaultErrorDefinition(api, lang);
+            errDesc = useDefaultErrorDefinition(api, firstTranslation(defaultTranslationKeys(api, locales), translations));
         }
 
         return ExceptionOutput.builder()
@@ -101,38 +204,164 @@ class ServiceExceptionUtil {
 
     }
 
-    private String formatExceptionMessageBy(String exceptionMessage, List<String> params) {
-        if (Objects.isNull(params) || params.isEmpty()) {
-            return exceptionMessage;
-        }
-
-        String formattedExceptionMessage = exceptionMessage.contains("'")
-            ? exceptionMessage.replaceAll("'", "''")
-            : exceptionMessage;
-
-        return MessageFormat.format(formattedExceptionMessage, params.toArray());
-    }
-
     /**
      * Default strategy to apply when error code doesn't found in database or DB has a connection problem.
      *
-     * @param lang application language.
+     * @param locales fallback chain of the application language.
      * @return default error description to use
      */
-    private String useDefaultErrorDefinition(String application, String lang) {
-        String defaultErrorModule = properties.getDefaultErrorModule();
-        String defaultErrorCode = properties.getDefaultErrorCode();
+    private String useDefaultErrorDefinition(String application, List<String> locales) {
+        List<TranslationKey> defaultKeys = defaultTranslationKeys(application, locales);
 
-        Optional<String> optExceptionMessage =
-            apiRepository.findErrorDescription(application, defaultErrorModule, defaultErrorCode, lang);
+        return useDefaultErrorDefinition(application, firstTranslation(defaultKeys, apiRepository().findTranslations(defaultKeys)));
+    }
 
-        if (optExceptionMessage.isPresent()) {
-            return optExceptionMessage.get();
+    /**
+     * Default strategy with the already fetched default definition.
+     *
+     * @param exceptionMessage default definition.
+     * @return default error description to use
+     */
+    private String useDefaultErrorDefinition(String application, TranslationResult exceptionMessage) {
+        if (exceptionMessage.isFound()) {
+            return exceptionMessage.getTranslation().getValue();
         } else {
             log.error("Could not find default exception definition for api: {} module: {}, code: {}",
-                application, defaultErrorModule, defaultErrorCode);
+                application, properties.getDefaultErrorModule(), properties.getDefaultErrorCode());
 
+            metrics.defaultMessageUsed(application, exceptionMessage.isUnavailable() ? "unavailable" : "not_defined");
             return properties.getDefaultErrorMessage();
         }
     }
+
+    private String fieldErrorMessage(FieldError fieldError, List<String> locales, Map<TranslationKey, TranslationResult> translations) {
+        TranslationResult fieldErrorMessage = firstTranslation(fieldErrorTranslationKeys(fieldError, locales), translations);
+
+        if (fieldErrorMessage.isFound()) {
+            return fieldErrorMessage.getTranslation().format(fieldErrorParameters(fieldError));
+        }
+
+        return "'" + fieldError.getField() + "' field is wrong. " + fieldError.getDefaultMessage();
+    }
+
+    /**
+     * {0} field, {1} rejected value, then the constraint attributes. The first argument of the validator is the field itself, it is skipped.
+     * The String attributes (i.e. regexp of the Pattern) are wrapped by the validator as resolvables, their default message is the value.
+     * The array attributes (i.e. flags of the Pattern) are written with their elements.
+     */
+    static List<String> fieldErrorParameters(FieldError fieldError) {
+        List<String> parameters = new ArrayList<>();
+        parameters.add(fieldError.getField());
+        parameters.add(String.valueOf(fieldError.getRejectedValue()));
+
+        Object[] arguments = fieldError.getArguments();
+
+        if (Objects.nonNull(arguments)) {
+            for (int i = 1; i < arguments.length; i++) {
+                Object argument = arguments[i];
+
+                parameters.add(argument instanceof MessageSourceResolvable
+                    ? ((MessageSourceResolvable) argument).getDefaultMessage()
+                    : ObjectUtils.nullSafeToString(argument));
+            }
+        }
+
+        return parameters;
+    }
+
+    /**
+     * The first definition of the chain. If a more preferred locale couldn't be looked up, it isn't known which one wins.
+     *
+     * @return the first found or unavailable result, not found if none of them is defined.
+     */
+    private static TranslationResult firstTranslation(List<TranslationKey> keys, Map<TranslationKey, TranslationResult> translations) {
+        for (TranslationKey key : keys) {
+            TranslationResult translation = translations.get(key);
+
+            if (!translation.isNotFound()) {
+                return translation;
+            }
+        }
+
+        return TranslationResult.notFound();
+    }
+
+    /**
+     * The requested definitions and the default definitions of the application, in order of precedence.
+     */
+    private List<TranslationKey> translationKeys(String api, String module, String code, List<String> locales) {
+        Set<TranslationKey> keys = new LinkedHashSet<>(requestedTranslationKeys(api, module, code, locales));
+        keys.addAll(defaultTranslationKeys(api, locales));
+
+        return List.copyOf(keys);
+    }
+
+    /**
+     * The field validation definitions and the definitions of the field errors, so all of them are fetched in one lookup.
+     */
+    private List<TranslationKey> methodArgumentNotValidKeys(List<FieldError> fieldErrors, List<String> locales) {
+        Set<TranslationKey> keys = new LinkedHashSet<>(translationKeys(appName, METHOD_NOT_VALID_MODULE, METHOD_NOT_VALID_CODE, locales));
+
+        for (FieldError fieldError : fieldErrors) {
+            keys.addAll(fieldErrorTranslationKeys(fieldError, locales));
+        }
+
+        return List.copyOf(keys);
+    }
+
+    /**
+     * "constraint.field" and "constraint" in each locale of the chain, the indexes of the collections are removed from the field.
+     */
+    private List<TranslationKey> fieldErrorTranslationKeys(FieldError fieldError, List<String> locales) {
+        if (Objects.isNull(fieldError.getCode())) {
+            return List.of();
+        }
+
+        String fieldCode = fieldError.getCode() + "." + FIELD_INDEXES.matcher(fieldError.getField()).replaceAll("");
+        List<TranslationKey> keys = new ArrayList<>(locales.size() * 2);
+
+        for (String locale : locales) {
+            keys.add(TranslationKey.of(appName, METHOD_NOT_VALID_MODULE, fieldCode, locale));
+            keys.add(TranslationKey.of(appName, METHOD_NOT_VALID_MODULE, fieldError.getCode(), locale));
+        }
+
+        return keys;
+    }
+
+    private List<TranslationKey> requestedTranslationKeys(String api, String module, String code, List<String> locales) {
+        String errCode = Optional.ofNullable(code).orElse(properties.getDefaultErrorCode());
+
+        return locales.stream()
+            .map(locale -> TranslationKey.of(api, module, errCode, locale))
+            .collect(Collectors.toList());
+    }
+
+    private List<TranslationKey> defaultTranslationKeys(String application, List<String> locales) {
+        return locales.stream()
+            .map(locale -> TranslationKey.of(application, properties.getDefaultErrorModule(), properties.getDefaultErrorCode(), locale))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * Creates the repository on the first call. The servlet handler and the lookup scheduler of the reactive handler call it, never an event loop.
+     */
+    private ApiErrorFinderRepositoryService apiRepository() {
+        ApiErrorFinderRepositoryService repository = apiRepository;
+
+        if (Objects.isNull(repository)) {
+            repository = apiRepositoryProvider.getObject();
+            apiRepository = repository;
+        }
+
+        return repository;
+    }
+
+    /**
+     * Non-loading lookup, empty while the repository isn't created yet, so the caller moves to a thread which can create it.
+     */
+    private Optional<Map<TranslationKey, TranslationResult>> findTranslationsIfPresent(List<TranslationKey> keys) {
+        ApiErrorFinderRepositoryService repository = apiRepository;
+
+        return Objects.isNull(repository) ? Optional.empty() : repository.findTranslationsIfPresent(keys);
+    }
 }
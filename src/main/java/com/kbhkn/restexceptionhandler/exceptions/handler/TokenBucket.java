@@ -0,0 +1,43 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket. Instead of counting the tokens, it keeps a single timestamp (generic cell rate algorithm),
+ * so taking a token is a single compare-and-set.
+ */
+final class TokenBucket {
+    private final long nanosPerToken;
+    private final long burstNanos;
+
+    /* Each taken token moves it forward by nanosPerToken. A token is available while it is at least one token behind now. */
+    private final AtomicLong consumedUntil;
+
+    TokenBucket(double permitsPerSecond, int burst) {
+        this.nanosPerToken = (long) (1_000_000_000L / permitsPerSecond);
+        this.burstNanos = nanosPerToken * Math.max(1, burst);
+        this.consumedUntil = new AtomicLong(System.nanoTime() - burstNanos);
+    }
+
+    /**
+     * Takes a token, if there is.
+     *
+     * @return true, if a token is taken.
+     */
+    boolean tryAcquire() {
+        long now = System.nanoTime();
+
+        while (true) {
+            long current = consumedUntil.get();
+            long next = Math.max(current, now - burstNanos) + nanosPerToken;
+
+            if (next - now > 0) {
+                return false;
+            }
+
+            if (consumedUntil.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+}
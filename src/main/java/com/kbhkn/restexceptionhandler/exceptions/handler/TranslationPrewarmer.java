@@ -0,0 +1,179 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.exceptions.base.ServiceException;
+import com.kbhkn.restexceptionhandler.exceptions.base.ServiceExceptionRegistry;
+import com.kbhkn.restexceptionhandler.repository.ApiErrorFinderRepositoryService;
+import com.kbhkn.restexceptionhandler.repository.TranslationKey;
+import com.kbhkn.restexceptionhandler.repository.TranslationResult;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationStartedEvent;
+import org.springframework.context.ApplicationListener;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetches the definitions of the registered {@link ServiceException} enums for each locale before the application is ready,
+ * so the first exception of a code doesn't pay a cold lookup. The definitions which don't exist in the table are reported.
+ * It is created on the started event, after the context is refreshed. With the background initialization, it doesn't block the startup.
+ */
+@Lazy
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "common.ex-handler.prewarm", name = "enabled")
+class TranslationPrewarmer implements ApplicationListener<ApplicationStartedEvent> {
+    private static final int MAXIMUM_REPORTED_DEFINITIONS = 100;
+
+    private final ApiErrorFinderRepositoryService apiRepository;
+    private final ExceptionHandlerPropertiesReader properties;
+
+    @Value("${spring.application.name}")
+    private String appName;
+
+    @Override
+    public void onApplicationEvent(ApplicationStartedEvent event) {
+        // The background initializer runs the prewarm after the handler is initialized.
+        if (!properties.getInitialization().isBackground()) {
+            prewarm(event.getApplicationContext().getClassLoader());
+        }
+    }
+
+    /**
+     * Fetches the definitions of the registered enums and reports the missing ones.
+     *
+     * @param classLoader class loader of the application.
+     */
+    void prewarm(ClassLoader classLoader) {
+        long startedAt = System.currentTimeMillis();
+
+        List<String> locales = getLocales();
+        if (locales.isEmpty()) {
+            log.warn("--- Api Translations Service's prewarm is skipped, there isn't any locale.");
+            return;
+        }
+
+        List<ServiceException<?>> serviceExceptions = ServiceExceptionRegistry.load(classLoader);
+        List<TranslationKey> keys = prewarmKeys(serviceExceptions, locales);
+
+        Map<TranslationKey, TranslationResult> translations = fetch(keys);
+
+        List<TranslationKey> missing = keys.stream()
+            .filter(key -> translations.get(key).isNotFound())
+            .collect(Collectors.toList());
+        long unavailable = keys.stream().filter(key -> translations.get(key).isUnavailable()).count();
+
+        if (!missing.isEmpty()) {
+            log.warn("--- Api Translations Service's missing definitions, they are responded as ND_. Count: {}\n{}",
+                missing.size(), describe(missing));
+        }
+
+        log.info("--- Api Translations Service's prewarm is completed. Enums: {}, Locales: {}, Definitions: {}, Missing: {}, Unavailable: {}, Took: {} ms",
+            serviceExceptions.size(), locales, keys.size(), missing.size(), unavailable, System.currentTimeMillis() - startedAt);
+    }
+
+    private List<String> getLocales() {
+        ExceptionHandlerPropertiesReader.Prewarm prewarm = properties.getPrewarm();
+
+        if (!prewarm.getLocales().isEmpty()) {
+            return prewarm.getLocales();
+        }
+
+        if (!properties.getLocales().getSupported().isEmpty()) {
+            return properties.getLocales().getSupported();
+        }
+
+        try {
+            return List.copyOf(apiRepository.findLocales());
+        } catch (RuntimeException ex) {
+            log.error("--- Api Translations Service's locales couldn't be loaded for the prewarm.", ex);
+
+            return List.of();
+        }
+    }
+
+    /**
+     * Definitions of the enums, the default definition and the field validation definition of the application.
+     */
+    private List<TranslationKey> prewarmKeys(List<ServiceException<?>> serviceExceptions, List<String> locales) {
+        Set<TranslationKey> keys = new LinkedHashSet<>();
+
+        for (String configuredLocale : locales) {
+            String locale = configuredLocale.trim().replace('-', '_');
+
+            keys.add(TranslationKey.of(appName, properties.getDefaultErrorModule(), properties.getDefaultErrorCode(), locale));
+            keys.add(TranslationKey.of(appName, ServiceExceptionUtil.METHOD_NOT_VALID_MODULE, ServiceExceptionUtil.METHOD_NOT_VALID_CODE, locale));
+
+            for (ServiceException<?> serviceException : serviceExceptions) {
+                keys.add(TranslationKey.of(serviceException.api(), serviceException.module(), serviceException.code(), locale));
+            }
+        }
+
+        return List.copyOf(keys);
+    }
+
+    /**
+     * Fetches the chunks in parallel. The definitions of a failed chunk are unavailable.
+     */
+    private Map<TranslationKey, TranslationResult> fetch(List<TranslationKey> keys) {
+        ExceptionHandlerPropertiesReader.Prewarm prewarm = properties.getPrewarm();
+        int chunkSize = Math.max(1, prewarm.getChunkSize());
+
+        AtomicInteger threadCount = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, prewarm.getThreads()), runnable -> {
+            Thread thread = new Thread(runnable, "GEH-prewarm-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            List<CompletableFuture<Map<TranslationKey, TranslationResult>>> chunks = new ArrayList<>();
+
+            for (int from = 0; from < keys.size(); from += chunkSize) {
+                List<TranslationKey> chunk = keys.subList(from, Math.min(keys.size(), from + chunkSize));
+
+                chunks.add(CompletableFuture.supplyAsync(() -> apiRepository.findTranslations(chunk), executor)
+                    .exceptionally(ex -> {
+                        log.error("--- Api Translations Service's prewarm chunk couldn't be fetched.", ex);
+
+                        Map<TranslationKey, TranslationResult> unavailable = new HashMap<>();
+                        chunk.forEach(key -> unavailable.put(key, TranslationResult.unavailable()));
+                        return unavailable;
+                    }));
+            }
+
+            Map<TranslationKey, TranslationResult> translations = new HashMap<>();
+            chunks.stream().map(CompletableFuture::join).forEach(translations::putAll);
+
+            return translations;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static String describe(Collection<TranslationKey> keys) {
+        String described = keys.stream()
+            .limit(MAXIMUM_REPORTED_DEFINITIONS)
+            .map(key -> "api: " + key.getApplication() + ", module: " + key.getModule() + ", code: " + key.getCode() + ", locale: " + key.getLocale())
+            .collect(Collectors.joining("\n"));
+
+        return keys.size() > MAXIMUM_REPORTED_DEFINITIONS
+            ? described + "\n... and " + (keys.size() - MAXIMUM_REPORTED_DEFINITIONS) + " more."
+            : described;
+    }
+}
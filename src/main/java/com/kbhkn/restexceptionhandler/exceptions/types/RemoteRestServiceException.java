@@ -5,7 +5,7 @@ import lombok.Getter;
 
 /**
  * Each service should throw the same responses!
- * Do not do something. Feign-Parser knows what to do!
+ * Do not do something. Feign-Parser knows what to do! The built-in RemoteRestServiceExceptionDecoder creates it from the responses of the Feign clients.
  *
  * @author Hakan KABASAKAL, 12-Aug-21
  */
@@ -21,7 +21,16 @@ public class RemoteRestServiceException extends RuntimeException {
      * Creates a final exception with given data.
      */
     public RemoteRestServiceException(String code, String desc, String api, String module, LocalDateTime timeStamp) {
-        super(desc);
+        this(code, desc, api, module, timeStamp, true);
+    }
+
+    /**
+     * Creates a final exception with given data.
+     * If the stack trace isn't writable, neither the stack trace nor the suppressed exceptions are written.
+     */
+    public RemoteRestServiceException(String code, String desc, String api, String module, LocalDateTime timeStamp,
+                                      boolean writableStackTrace) {
+        super(desc, null, writableStackTrace, writableStackTrace);
         this.code = code;
         this.desc = desc;
         this.api = api;
@@ -16,13 +16,16 @@ public class RestServiceException extends RuntimeException {
     private final String desc;
     private final String module;
     private final String api;
+
+    /* Immutable, captured when the exception is created. */
     private final List<String> parameters;
 
     /**
      * Creates final exception with given data.
+     * If the enum is stackless, neither the stack trace nor the suppressed exceptions are written, so it can be reused.
      */
     public RestServiceException(ServiceException<?> serviceEx) {
-        super(serviceEx.desc());
+        super(serviceEx.desc(), null, !serviceEx.stackless(), !serviceEx.stackless());
         this.code = serviceEx.code();
         this.desc = serviceEx.desc();
         this.module = serviceEx.module();
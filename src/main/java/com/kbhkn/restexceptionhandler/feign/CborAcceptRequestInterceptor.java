@@ -0,0 +1,35 @@
+package com.kbhkn.restexceptionhandler.feign;
+
+import feign.RequestInterceptor;
+import feign.RequestTemplate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Lists application/cbor first in the Accept header of the Feign requests, so the exception handlers of the other services send the errors in CBOR.
+ * Without an Accept header, JSON is listed with a lower quality. Otherwise the listed types are kept after it.
+ * A service which registers a CBOR message converter answers the normal responses in CBOR too, the decoder of the client has to read them.
+ */
+public class CborAcceptRequestInterceptor implements RequestInterceptor {
+    private static final String ACCEPT = "Accept";
+    private static final String CBOR = "application/cbor";
+    private static final String JSON_WITH_LOWER_QUALITY = "application/json;q=0.9";
+
+    @Override
+    public void apply(RequestTemplate template) {
+        Collection<String> accepts = template.headers().get(ACCEPT);
+
+        if (Objects.isNull(accepts) || accepts.isEmpty()) {
+            template.header(ACCEPT, CBOR, JSON_WITH_LOWER_QUALITY);
+        } else if (accepts.stream().noneMatch(accept -> accept.contains("cbor"))) {
+            // Equal qualities keep their order, so CBOR has to be the first one.
+            List<String> listed = new ArrayList<>(accepts);
+
+            template.removeHeader(ACCEPT);
+            template.header(ACCEPT, CBOR);
+            template.header(ACCEPT, listed);
+        }
+    }
+}
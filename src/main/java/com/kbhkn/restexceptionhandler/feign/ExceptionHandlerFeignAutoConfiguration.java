@@ -0,0 +1,47 @@
+package com.kbhkn.restexceptionhandler.feign;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerConfiguration;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import feign.RequestInterceptor;
+import feign.codec.ErrorDecoder;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activated Custom Auto Conf. --> META-INF/spring.factories
+ * The error decoder is registered only if Feign is on the classpath and the application doesn't have its own decoder.
+ */
+@Configuration
+@ConditionalOnClass({ErrorDecoder.class, JsonFactory.class})
+@AutoConfigureAfter(ExceptionHandlerConfiguration.class)
+@ConditionalOnProperty(prefix = "common.ex-handler.feign", name = "error-decoder", matchIfMissing = true)
+public class ExceptionHandlerFeignAutoConfiguration {
+    /**
+     * Creates the decoder, the Feign clients of Spring Cloud OpenFeign find it in the application context.
+     *
+     * @param properties common.ex-handler properties.
+     * @return remote exception decoder.
+     */
+    @Bean
+    @ConditionalOnMissingBean(ErrorDecoder.class)
+    public ErrorDecoder remoteRestServiceExceptionDecoder(ExceptionHandlerPropertiesReader properties) {
+        return new RemoteRestServiceExceptionDecoder(properties.getFeign().isStackless());
+    }
+
+    /**
+     * Asks the other services for the CBOR errors, the decoder reads them.
+     *
+     * @return Accept header interceptor of the Feign clients.
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "common.ex-handler.feign", name = "accept-cbor")
+    @ConditionalOnClass(name = "com.fasterxml.jackson.dataformat.cbor.CBORFactory")
+    public RequestInterceptor cborAcceptRequestInterceptor() {
+        return new CborAcceptRequestInterceptor();
+    }
+}
@@ -0,0 +1,218 @@
+package com.kbhkn.restexceptionhandler.feign;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.kbhkn.restexceptionhandler.exceptions.types.RemoteRestServiceException;
+import feign.Response;
+import feign.codec.ErrorDecoder;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Decodes the ExceptionOutput responses of the other services into the RemoteRestServiceException.
+ * The body is read with the streaming parser field by field, straight into the exception, without the data binding and the reflection.
+ * JSON and, if jackson-dataformat-cbor is on the classpath, CBOR bodies are decoded.
+ * The exception is created without the stack trace by default, it is thrown again by the handler of this service anyway.
+ * A response which isn't an ExceptionOutput, i.e. there isn't a code, is decoded by the fallback decoder.
+ */
+@Slf4j
+public class RemoteRestServiceExceptionDecoder implements ErrorDecoder {
+    private static final int MAXIMUM_TIME_STAMP_FIELDS = 7;
+    private static final String CBOR_FACTORY = "com.fasterxml.jackson.dataformat.cbor.CBORFactory";
+
+    private final JsonFactory jsonFactory = new JsonFactory();
+    private final JsonFactory cborFactory = ClassUtils.isPresent(CBOR_FACTORY, RemoteRestServiceExceptionDecoder.class.getClassLoader())
+        ? CborFactories.create()
+        : null;
+    private final boolean stackless;
+    private final ErrorDecoder fallback;
+
+    /**
+     * Creates the decoder with the Feign's default decoder as the fallback.
+     *
+     * @param stackless if it is true, exceptions are created without the stack trace.
+     */
+    public RemoteRestServiceExceptionDecoder(boolean stackless) {
+        this(stackless, new ErrorDecoder.Default());
+    }
+
+    /**
+     * Creates the decoder.
+     *
+     * @param stackless if it is true, exceptions are created without the stack trace.
+     * @param fallback  decodes the responses which aren't an ExceptionOutput.
+     */
+    public RemoteRestServiceExceptionDecoder(boolean stackless, ErrorDecoder fallback) {
+        this.stackless = stackless;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public Exception decode(String methodKey, Response response) {
+        JsonFactory factory = findFactory(response.headers());
+
+        if (Objects.isNull(response.body()) || Objects.isNull(factory)) {
+            return fallback.decode(methodKey, response);
+        }
+
+        // Kept, so the fallback decoder can read the body again.
+        byte[] body;
+        try (InputStream inputStream = response.body().asInputStream()) {
+            body = inputStream.readAllBytes();
+        } catch (IOException e) {
+            log.debug("Remote exception body of {} couldn't be read.", methodKey, e);
+            return fallback.decode(methodKey, response);
+        }
+
+        try (JsonParser parser = factory.createParser(body)) {
+            RemoteRestServiceException exception = parse(parser);
+
+            if (Objects.nonNull(exception)) {
+                return exception;
+            }
+        } catch (IOException | RuntimeException e) {
+            log.debug("Remote exception body of {} isn't an ExceptionOutput.", methodKey, e);
+        }
+
+        return fallback.decode(methodKey, response.toBuilder().body(body).build());
+    }
+
+    /**
+     * Reads the fields of the ExceptionOutput, the others are skipped.
+     *
+     * @return null if the body isn't an ExceptionOutput.
+     */
+    private RemoteRestServiceException parse(JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return null;
+        }
+
+        String code = null;
+        String desc = null;
+        String module = null;
+        String api = null;
+        LocalDateTime timeStamp = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+
+            switch (field) {
+                case "code":
+                    code = readText(parser);
+                    break;
+                case "desc":
+                    desc = readText(parser);
+                    break;
+                case "module":
+                    module = readText(parser);
+                    break;
+                case "api":
+                    api = readText(parser);
+                    break;
+                case "timeStamp":
+                    timeStamp = readTimeStamp(parser);
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+
+        return Objects.isNull(code) ? null : new RemoteRestServiceException(code, desc, api, module, timeStamp, !stackless);
+    }
+
+    private static String readText(JsonParser parser) throws IOException {
+        String text = parser.currentToken().isScalarValue() && parser.currentToken() != JsonToken.VALUE_NULL
+            ? parser.getValueAsString()
+            : null;
+        parser.skipChildren();
+
+        return text;
+    }
+
+    /**
+     * ISO string, or [year, month, day, hour, minute, second, nano] if the remote service writes the dates as timestamps.
+     */
+    private static LocalDateTime readTimeStamp(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            try {
+                return LocalDateTime.parse(parser.getText());
+            } catch (DateTimeException e) {
+                return null;
+            }
+        }
+
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+
+        int[] fields = new int[MAXIMUM_TIME_STAMP_FIELDS];
+        int count = 0;
+
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT || count == fields.length) {
+                parser.skipChildren();
+                return skipArray(parser);
+            }
+
+            fields[count++] = parser.getIntValue();
+        }
+
+        if (count < 5) {
+            return null;
+        }
+
+        try {
+            return LocalDateTime.of(fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    private static LocalDateTime skipArray(JsonParser parser) throws IOException {
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            parser.skipChildren();
+        }
+
+        return null;
+    }
+
+    /**
+     * Parser factory of the content type, null if it can't be decoded.
+     */
+    private JsonFactory findFactory(Map<String, Collection<String>> headers) {
+        Collection<String> contentTypes = headers.get("Content-Type");
+
+        if (Objects.isNull(contentTypes) || contentTypes.isEmpty()) {
+            return jsonFactory;
+        }
+
+        String contentType = String.join(",", contentTypes).toLowerCase(Locale.ROOT);
+
+        if (contentType.contains("cbor")) {
+            return cborFactory;
+        }
+
+        return contentType.contains("json") ? jsonFactory : null;
+    }
+
+    /**
+     * Loaded only if jackson-dataformat-cbor is on the classpath.
+     */
+    private static final class CborFactories {
+        static JsonFactory create() {
+            return new CBORFactory();
+        }
+    }
+}
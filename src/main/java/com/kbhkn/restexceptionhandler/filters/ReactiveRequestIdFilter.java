@@ -0,0 +1,40 @@
+package com.kbhkn.restexceptionhandler.filters;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+/**
+ * Reactive side of the {@link RequestIdFilter}.
+ * A thread-local MDC doesn't follow the reactive chain, so the id is written to the Reactor context with the MDC key instead.
+ * It is echoed as the RequestId header and the exception handler reuses it from the exchange.
+ */
+@Lazy
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+@ConditionalOnProperty(prefix = "common.ex-handler.request-id", name = "enabled", matchIfMissing = true)
+public class ReactiveRequestIdFilter implements WebFilter {
+    private final ExceptionHandlerPropertiesReader properties;
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String requestId = RequestIds.resolve(exchange.getRequest().getHeaders().getFirst(RequestIds.REQUEST_ID_HEADER));
+
+        exchange.getAttributes().put(RequestIds.REQUEST_ID_ATTRIBUTE, requestId);
+        exchange.getResponse().getHeaders().set(RequestIds.REQUEST_ID_HEADER, requestId);
+
+        return chain.filter(exchange)
+            .contextWrite(context -> context.put(properties.getRequestId().getMdcKey(), requestId));
+    }
+}
@@ -0,0 +1,55 @@
+package com.kbhkn.restexceptionhandler.filters;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.io.IOException;
+import java.util.Objects;
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.slf4j.MDC;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Resolves the request id once per request, before any other filter.
+ * The id is put into the MDC, so every log line of the request can be correlated, it is echoed as the RequestId header,
+ * and the exception handler reuses it.
+ */
+@Lazy
+@Component
+@RequiredArgsConstructor
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+@ConditionalOnProperty(prefix = "common.ex-handler.request-id", name = "enabled", matchIfMissing = true)
+public class RequestIdFilter extends OncePerRequestFilter {
+    private final ExceptionHandlerPropertiesReader properties;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+        throws ServletException, IOException {
+        String requestId = RequestIds.resolve(request.getHeader(RequestIds.REQUEST_ID_HEADER));
+        String mdcKey = properties.getRequestId().getMdcKey();
+        String previousRequestId = MDC.get(mdcKey);
+
+        request.setAttribute(RequestIds.REQUEST_ID_ATTRIBUTE, requestId);
+        response.setHeader(RequestIds.REQUEST_ID_HEADER, requestId);
+        MDC.put(mdcKey, requestId);
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            if (Objects.isNull(previousRequestId)) {
+                MDC.remove(mdcKey);
+            } else {
+                MDC.put(mdcKey, previousRequestId);
+            }
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package com.kbhkn.restexceptionhandler.filters;
+
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.util.Objects;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+
+/**
+ * Request id contract of the library. The id is read from the RequestId header, or generated once per request.
+ * Generated ids are 128 random bits from a DRBG instance of each thread. A thread takes its seed from the shared entropy source once,
+ * then it generates without any shared state, so the request threads don't contend on a lock or a /dev/urandom read.
+ * The default SecureRandom isn't used, NativePRNG instances share one synchronized reader; neither is the ThreadLocalRandom,
+ * its 64-bit state can't give 128 independent bits.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class RequestIds {
+    public static final String REQUEST_ID_HEADER = "RequestId";
+
+    /* The resolved id is kept in the request (or the exchange) with this attribute. */
+    public static final String REQUEST_ID_ATTRIBUTE = RequestIds.class.getName() + ".requestId";
+
+    private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray();
+    private static final ThreadLocal<SecureRandom> RANDOMS = ThreadLocal.withInitial(RequestIds::createRandom);
+
+    /**
+     * Uses the requestId in the header and if there is no requestId, then generate it.
+     *
+     * @param orjRequestId requestId header, could be null.
+     * @return requestId.
+     */
+    public static String resolve(String orjRequestId) {
+        return Objects.nonNull(orjRequestId) && orjRequestId.length() > 7 ? orjRequestId : generate();
+    }
+
+    /**
+     * Generates a new request id.
+     *
+     * @return 32 hex characters.
+     */
+    public static String generate() {
+        SecureRandom random = RANDOMS.get();
+        char[] id = new char[32];
+
+        writeHex(random.nextLong(), id, 0);
+        writeHex(random.nextLong(), id, 16);
+
+        return new String(id);
+    }
+
+    /**
+     * DRBG of the JDK, SHA1PRNG if a provider doesn't offer it. Both keep their state in the instance.
+     */
+    private static SecureRandom createRandom() {
+        try {
+            return SecureRandom.getInstance("DRBG");
+        } catch (NoSuchAlgorithmException e) {
+            try {
+                return SecureRandom.getInstance("SHA1PRNG");
+            } catch (NoSuchAlgorithmException ex) {
+                throw new IllegalStateException("Neither DRBG nor SHA1PRNG is available for the request ids.", ex);
+            }
+        }
+    }
+
+    private static void writeHex(long value, char[] target, int offset) {
+        for (int i = 15; i >= 0; i--) {
+            target[offset + i] = HEX_DIGITS[(int) (value & 0xF)];
+            value >>>= 4;
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.kbhkn.restexceptionhandler.health;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerConfiguration;
+import com.kbhkn.restexceptionhandler.exceptions.handler.ExceptionHandlerInitializer;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activated Custom Auto Conf. --> META-INF/spring.factories
+ * The health indicator is created only if the actuator is on the classpath and the background initialization is enabled.
+ */
+@Configuration
+@ConditionalOnClass(HealthIndicator.class)
+@AutoConfigureAfter(ExceptionHandlerConfiguration.class)
+@ConditionalOnProperty(prefix = "common.ex-handler.initialization", name = "background")
+public class ExceptionHandlerHealthAutoConfiguration {
+    /**
+     * Creates the indicator, it is named exceptionHandler in the health endpoint.
+     *
+     * @param initializer background initializer of the handler.
+     * @return health indicator.
+     */
+    @Bean
+    public HealthIndicator exceptionHandlerHealthIndicator(ExceptionHandlerInitializer initializer) {
+        return new ExceptionHandlerHealthIndicator(initializer);
+    }
+}
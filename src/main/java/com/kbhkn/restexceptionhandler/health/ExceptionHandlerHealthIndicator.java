@@ -0,0 +1,33 @@
+package com.kbhkn.restexceptionhandler.health;
+
+import com.kbhkn.restexceptionhandler.exceptions.handler.ExceptionHandlerInitializer;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+
+/**
+ * Stays DOWN until the background initialization of the handler is completed.
+ * Include it in the readiness group, so the instance doesn't receive traffic before the handler is warm.
+ */
+@RequiredArgsConstructor
+public class ExceptionHandlerHealthIndicator implements HealthIndicator {
+    private final ExceptionHandlerInitializer initializer;
+
+    @Override
+    public Health health() {
+        ExceptionHandlerInitializer.State state = initializer.getState();
+
+        if (state == ExceptionHandlerInitializer.State.INITIALIZED) {
+            return Health.up()
+                .withDetail("state", state)
+                .withDetail("initializedInMillis", initializer.getInitializedInMillis())
+                .build();
+        }
+
+        Health.Builder health = Health.down().withDetail("state", state);
+        Throwable lastFailure = initializer.getLastFailure();
+
+        return Objects.isNull(lastFailure) ? health.build() : health.withException(lastFailure).build();
+    }
+}
@@ -0,0 +1,149 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import javax.annotation.PreDestroy;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.stereotype.Component;
+
+/**
+ * The most firing (api, module, code) triples in a sliding window, with a fixed memory whatever the count of the codes is.
+ * The handlers record each response into a Count-Min sketch and the heavy hitter candidates, without a lock and an allocation.
+ * A ticker rotates the buckets of the window and refreshes the candidates.
+ */
+@Lazy
+@Slf4j
+@Component
+public class ErrorCodeHotspots {
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private final SlidingCountMinSketch sketch;
+    private final HeavyHitterCandidates candidates;
+    private final ScheduledExecutorService ticker;
+
+    @Getter
+    private final Duration window;
+
+    public ErrorCodeHotspots(ExceptionHandlerPropertiesReader properties) {
+        ExceptionHandlerPropertiesReader.Hotspots hotspots = properties.getHotspots();
+        this.window = hotspots.getWindow();
+
+        if (!hotspots.isEnabled()) {
+            this.sketch = null;
+            this.candidates = null;
+            this.ticker = null;
+            return;
+        }
+
+        long bucketNanos = Math.max(1, window.toNanos() / Math.max(1, hotspots.getBuckets()));
+
+        this.sketch = new SlidingCountMinSketch(hotspots.getDepth(), hotspots.getWidth(), hotspots.getBuckets(), bucketNanos);
+        this.candidates = new HeavyHitterCandidates(hotspots.getCandidates());
+
+        // Twice in a bucket, so the spare bucket is cleared before its time, even if a tick is late.
+        long period = Math.max(1, bucketNanos / 2);
+
+        this.ticker = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GEH-hotspots");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.ticker.scheduleAtFixedRate(this::tick, 0, period, TimeUnit.NANOSECONDS);
+
+        log.info("--- Api Translations Service's hotspots are tracked. Window: {}, Buckets: {}, Memory: {} bytes",
+            window, hotspots.getBuckets(), sketch.sizeInBytes());
+    }
+
+    /**
+     * Records a response. It doesn't lock and doesn't allocate.
+     */
+    public void record(String api, String module, String code) {
+        if (Objects.isNull(sketch)) {
+            return;
+        }
+
+        long fingerprint = fingerprint(api, module, code);
+
+        candidates.offer(fingerprint, api, module, code, sketch.add(fingerprint));
+    }
+
+    /**
+     * The most firing triples in the window.
+     *
+     * @param limit maximum count of the triples.
+     * @return triples in order of their counts, empty if the tracking isn't enabled.
+     */
+    public List<Hotspot> top(int limit) {
+        if (Objects.isNull(sketch)) {
+            return List.of();
+        }
+
+        // The same key could be written to two slots by concurrent recordings.
+        Map<Long, Hotspot> hotspots = new HashMap<>();
+
+        for (HeavyHitterCandidates.Candidate candidate : candidates.candidates()) {
+            long count = sketch.estimate(candidate.getFingerprint());
+
+            if (count > 0) {
+                hotspots.putIfAbsent(candidate.getFingerprint(),
+                    new Hotspot(candidate.getApi(), candidate.getModule(), candidate.getCode(), count));
+            }
+        }
+
+        return hotspots.values().stream()
+            .sorted(Comparator.comparingLong(Hotspot::getCount).reversed())
+            .limit(Math.max(0, limit))
+            .collect(Collectors.toList());
+    }
+
+    public boolean isEnabled() {
+        return Objects.nonNull(sketch);
+    }
+
+    /**
+     * Stops the ticker, if it is running.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(ticker)) {
+            ticker.shutdownNow();
+        }
+    }
+
+    private void tick() {
+        try {
+            sketch.clearNextBucket();
+            candidates.refresh(sketch);
+        } catch (RuntimeException ex) {
+            log.warn("--- Api Translations Service's hotspots couldn't be rotated.", ex);
+        }
+    }
+
+    /**
+     * 64-bit key of the triple from the cached hash codes of the strings, 0 is reserved for the empty slots.
+     */
+    private static long fingerprint(String api, String module, String code) {
+        long hash = Objects.hashCode(api);
+        hash = hash * GOLDEN_RATIO + Objects.hashCode(module);
+        hash = hash * GOLDEN_RATIO + Objects.hashCode(code);
+
+        hash ^= hash >>> 33;
+        hash *= 0xFF51AFD7ED558CCDL;
+        hash ^= hash >>> 33;
+        hash *= 0xC4CEB9FE1A85EC53L;
+        hash ^= hash >>> 33;
+
+        return hash == 0 ? 1 : hash;
+    }
+}
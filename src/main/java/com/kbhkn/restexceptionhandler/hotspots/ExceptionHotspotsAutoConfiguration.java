@@ -0,0 +1,34 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerConfiguration;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activated Custom Auto Conf. --> META-INF/spring.factories
+ * The endpoint is created only if the actuator is on the classpath and the hotspots are enabled.
+ */
+@Configuration
+@ConditionalOnClass(Endpoint.class)
+@AutoConfigureAfter(ExceptionHandlerConfiguration.class)
+@ConditionalOnProperty(prefix = "common.ex-handler.hotspots", name = "enabled")
+public class ExceptionHotspotsAutoConfiguration {
+    /**
+     * Creates the endpoint, it is exposed like the other actuator endpoints.
+     *
+     * @param hotspots   heavy hitters of the handled exceptions.
+     * @param properties common.ex-handler properties.
+     * @return actuator endpoint.
+     */
+    @Bean
+    @ConditionalOnMissingBean
+    public ExceptionHotspotsEndpoint exceptionHotspotsEndpoint(ErrorCodeHotspots hotspots, ExceptionHandlerPropertiesReader properties) {
+        return new ExceptionHotspotsEndpoint(hotspots, properties.getHotspots().getLimit());
+    }
+}
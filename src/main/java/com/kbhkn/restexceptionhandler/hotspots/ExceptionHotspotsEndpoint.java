@@ -0,0 +1,34 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+
+/**
+ * The most firing (api, module, code) triples of the window, i.e. GET /actuator/exceptionhotspots?limit=20.
+ */
+@RequiredArgsConstructor
+@Endpoint(id = "exceptionhotspots")
+public class ExceptionHotspotsEndpoint {
+    private final ErrorCodeHotspots hotspots;
+    private final int defaultLimit;
+
+    /**
+     * Top triples.
+     *
+     * @param limit maximum count of the triples, the configured limit if it isn't given.
+     * @return window and the triples in order of their counts.
+     */
+    @ReadOperation
+    public Map<String, Object> hotspots(@Nullable Integer limit) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("window", hotspots.getWindow().toString());
+        result.put("hotspots", hotspots.top(Objects.isNull(limit) ? defaultLimit : limit));
+
+        return result;
+    }
+}
@@ -0,0 +1,155 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import lombok.Value;
+
+/**
+ * Fixed slots of the keys with the highest estimates, the sketch only knows the counts, not the keys.
+ * A new key replaces the key with the lowest estimate, if its estimate is higher.
+ * Each slot is guarded by a sequence: a writer takes an even sequence with a CAS and gives up if another writer has it, it never waits.
+ * Readers retry while the sequence changes. So, the recording is lock-free and doesn't allocate.
+ */
+final class HeavyHitterCandidates {
+    private static final int MAXIMUM_READ_ATTEMPTS = 16;
+
+    private final AtomicLongArray sequences;
+    /* 0 is an empty slot. */
+    private final AtomicLongArray fingerprints;
+    private final AtomicLongArray estimates;
+    private final AtomicReferenceArray<String> apis;
+    private final AtomicReferenceArray<String> modules;
+    private final AtomicReferenceArray<String> codes;
+
+    HeavyHitterCandidates(int capacity) {
+        int slots = Math.max(1, capacity);
+
+        this.sequences = new AtomicLongArray(slots);
+        this.fingerprints = new AtomicLongArray(slots);
+        this.estimates = new AtomicLongArray(slots);
+        this.apis = new AtomicReferenceArray<>(slots);
+        this.modules = new AtomicReferenceArray<>(slots);
+        this.codes = new AtomicReferenceArray<>(slots);
+    }
+
+    /**
+     * Updates the estimate of the key, or puts the key instead of the lowest one.
+     *
+     * @param fingerprint key, not 0.
+     * @param estimate    estimate of the key in the window.
+     */
+    void offer(long fingerprint, String api, String module, String code, long estimate) {
+        int empty = -1;
+        int lowest = -1;
+        long lowestEstimate = Long.MAX_VALUE;
+
+        for (int i = 0; i < fingerprints.length(); i++) {
+            long slotFingerprint = fingerprints.get(i);
+
+            if (slotFingerprint == fingerprint) {
+                estimates.set(i, estimate);
+                return;
+            }
+
+            if (slotFingerprint == 0) {
+                if (empty < 0) {
+                    empty = i;
+                }
+            } else {
+                long slotEstimate = estimates.get(i);
+
+                if (slotEstimate < lowestEstimate) {
+                    lowestEstimate = slotEstimate;
+                    lowest = i;
+                }
+            }
+        }
+
+        if (empty >= 0) {
+            tryReplace(empty, 0, fingerprint, api, module, code, estimate);
+        } else if (lowest >= 0 && estimate > lowestEstimate) {
+            tryReplace(lowest, fingerprints.get(lowest), fingerprint, api, module, code, estimate);
+        }
+    }
+
+    /**
+     * Refreshes the estimates by the sliding window, so a key which stopped firing can be replaced. A key without any count is removed.
+     */
+    void refresh(SlidingCountMinSketch sketch) {
+        for (int i = 0; i < fingerprints.length(); i++) {
+            long fingerprint = fingerprints.get(i);
+
+            if (fingerprint != 0) {
+                long estimate = sketch.estimate(fingerprint);
+
+                if (estimate > 0) {
+                    estimates.set(i, estimate);
+                } else {
+                    tryReplace(i, fingerprint, 0, null, null, null, 0);
+                }
+            }
+        }
+    }
+
+    /**
+     * Consistent copies of the slots. A slot which is being written is skipped after a few attempts.
+     *
+     * @return candidates, unordered.
+     */
+    List<Candidate> candidates() {
+        List<Candidate> candidates = new ArrayList<>(fingerprints.length());
+
+        for (int i = 0; i < fingerprints.length(); i++) {
+            for (int attempt = 0; attempt < MAXIMUM_READ_ATTEMPTS; attempt++) {
+                long sequence = sequences.get(i);
+
+                if ((sequence & 1) != 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+
+                long fingerprint = fingerprints.get(i);
+                String api = apis.get(i);
+                String module = modules.get(i);
+                String code = codes.get(i);
+
+                if (sequences.get(i) == sequence) {
+                    if (fingerprint != 0) {
+                        candidates.add(new Candidate(fingerprint, api, module, code));
+                    }
+                    break;
+                }
+            }
+        }
+
+        return candidates;
+    }
+
+    private void tryReplace(int slot, long expectedFingerprint, long fingerprint, String api, String module, String code, long estimate) {
+        long sequence = sequences.get(slot);
+
+        if ((sequence & 1) != 0 || !sequences.compareAndSet(slot, sequence, sequence + 1)) {
+            return;
+        }
+
+        if (fingerprints.get(slot) == expectedFingerprint) {
+            apis.set(slot, api);
+            modules.set(slot, module);
+            codes.set(slot, code);
+            estimates.set(slot, estimate);
+            fingerprints.set(slot, fingerprint);
+        }
+
+        sequences.set(slot, sequence + 2);
+    }
+
+    @Value
+    static class Candidate {
+        long fingerprint;
+        String api;
+        String module;
+        String code;
+    }
+}
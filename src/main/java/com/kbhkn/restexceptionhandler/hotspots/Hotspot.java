@@ -0,0 +1,14 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import lombok.Value;
+
+/**
+ * An (api, module, code) and its estimated count in the window.
+ */
+@Value
+public class Hotspot {
+    String api;
+    String module;
+    String code;
+    long count;
+}
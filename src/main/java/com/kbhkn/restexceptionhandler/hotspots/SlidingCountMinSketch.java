@@ -0,0 +1,133 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Count-Min sketch over a sliding time window. The window is split into buckets, each bucket is a sketch of depth rows and width counters.
+ * A key is counted in the bucket of the current time, its estimate is the minimum of its rows summed over the buckets of the window.
+ * There is one spare bucket, it is cleared by the ticker before its time comes, so the recording only increments the counters.
+ * The memory is fixed: (buckets + 1) * depth * width counters.
+ */
+final class SlidingCountMinSketch {
+    private static final long[] SEEDS = {
+        0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+        0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x94D049BB133111EBL, 0xBF58476D1CE4E5B9L
+    };
+
+    private final int depth;
+    private final int width;
+    private final int widthMask;
+    private final int windowBuckets;
+    private final long bucketNanos;
+    private final AtomicLongArray[] buckets;
+
+    /* Only the ticker reads and writes it. */
+    private long lastClearedEpoch = Long.MIN_VALUE;
+
+    /**
+     * Creates the sketch.
+     *
+     * @param depth         rows, at most 8.
+     * @param width         counters of a row, rounded up to a power of two.
+     * @param windowBuckets buckets of the window.
+     * @param bucketNanos   duration of a bucket.
+     */
+    SlidingCountMinSketch(int depth, int width, int windowBuckets, long bucketNanos) {
+        this.depth = Math.max(1, Math.min(depth, SEEDS.length));
+        this.width = Integer.highestOneBit(Math.max(2, width) - 1) << 1;
+        this.widthMask = this.width - 1;
+        this.windowBuckets = Math.max(1, windowBuckets);
+        this.bucketNanos = Math.max(1, bucketNanos);
+        this.buckets = new AtomicLongArray[this.windowBuckets + 1];
+
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new AtomicLongArray(this.depth * this.width);
+        }
+    }
+
+    /**
+     * Counts the key in the current bucket.
+     *
+     * @param fingerprint key.
+     * @return estimate of the key in the window, including this one.
+     */
+    long add(long fingerprint) {
+        long epoch = epoch();
+        AtomicLongArray bucket = buckets[slot(epoch)];
+
+        for (int row = 0; row < depth; row++) {
+            bucket.incrementAndGet(index(row, fingerprint));
+        }
+
+        return estimate(fingerprint, epoch);
+    }
+
+    /**
+     * Estimate of the key in the window. It is never less than the real count, it could be more by the collisions.
+     *
+     * @param fingerprint key.
+     * @return estimated count.
+     */
+    long estimate(long fingerprint) {
+        return estimate(fingerprint, epoch());
+    }
+
+    /**
+     * Clears the spare bucket, which is the bucket of the next epoch. The ticker calls it more than once in a bucket duration.
+     */
+    void clearNextBucket() {
+        long nextEpoch = epoch() + 1;
+
+        if (nextEpoch == lastClearedEpoch) {
+            return;
+        }
+
+        AtomicLongArray bucket = buckets[slot(nextEpoch)];
+        for (int i = 0; i < bucket.length(); i++) {
+            bucket.set(i, 0);
+        }
+
+        lastClearedEpoch = nextEpoch;
+    }
+
+    /**
+     * Fixed memory of the counters.
+     *
+     * @return bytes.
+     */
+    long sizeInBytes() {
+        return (long) buckets.length * depth * width * Long.BYTES;
+    }
+
+    private long estimate(long fingerprint, long epoch) {
+        long minimum = Long.MAX_VALUE;
+
+        for (int row = 0; row < depth; row++) {
+            int index = index(row, fingerprint);
+            long sum = 0;
+
+            for (int bucket = 0; bucket < windowBuckets; bucket++) {
+                sum += buckets[slot(epoch - bucket)].get(index);
+            }
+
+            minimum = Math.min(minimum, sum);
+        }
+
+        return minimum;
+    }
+
+    private long epoch() {
+        return Math.floorDiv(System.nanoTime(), bucketNanos);
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets.length);
+    }
+
+    private int index(int row, long fingerprint) {
+        long hash = (fingerprint ^ SEEDS[row]) * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+
+        return row * width + (int) (hash & widthMask);
+    }
+}
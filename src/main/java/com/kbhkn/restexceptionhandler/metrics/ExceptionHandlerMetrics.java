@@ -0,0 +1,62 @@
+package com.kbhkn.restexceptionhandler.metrics;
+
+import java.util.function.Supplier;
+
+/**
+ * Instrumentation points of the exception pipeline. Does nothing by default, Micrometer is used when it is on the classpath.
+ */
+public interface ExceptionHandlerMetrics {
+    ExceptionHandlerMetrics NOOP = new ExceptionHandlerMetrics() {
+    };
+
+    /* Handler types of the handled exceptions, the type tag has only these values. */
+    String REST_SERVICE_EXCEPTION = "RestServiceException";
+    String REMOTE_SERVICE_EXCEPTION = "RemoteServiceException";
+    String FIELD_VALIDATION = "FieldValidation";
+    String RESPONSE_STATUS_EXCEPTION = "ResponseStatusException";
+    String EXCEPTION = "Exception";
+
+    /**
+     * An exception is handled and the response is prepared.
+     *
+     * @param handlerType one of the handler type constants, i.e. {@link #REST_SERVICE_EXCEPTION}.
+     * @param api         api of the response.
+     * @param module      module of the response.
+     * @param code        code of the response, ND_ codes are collapsed.
+     * @param locale      application language, null if it isn't used.
+     */
+    default void exceptionHandled(String handlerType, String api, String module, String code, String locale) {
+    }
+
+    /**
+     * A translation lookup is completed, whether it is served from the memory or the database.
+     *
+     * @param durationNanos elapsed time.
+     */
+    default void lookupCompleted(long durationNanos) {
+    }
+
+    /**
+     * The definition of the exception isn't in the api_translations table, the code is returned with the ND_ prefix.
+     */
+    default void notDefined(String api, String module) {
+    }
+
+    /**
+     * The defaultErrorMessage property is returned, because the default definition isn't found or the database can't answer.
+     *
+     * @param reason not_defined or unavailable.
+     */
+    default void defaultMessageUsed(String api, String reason) {
+    }
+
+    /**
+     * Registers a gauge, i.e. cache size.
+     *
+     * @param name        meter name.
+     * @param description meter description.
+     * @param value       sampled when the meter is read.
+     */
+    default void gauge(String name, String description, Supplier<Number> value) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.kbhkn.restexceptionhandler.metrics;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.AutoConfigureAfter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnClass;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Activated Custom Auto Conf. --> META-INF/spring.factories
+ * Micrometer meters are created only if Micrometer is on the classpath and the application has a meter registry.
+ */
+@Configuration
+@ConditionalOnClass(MeterRegistry.class)
+@ConditionalOnBean(MeterRegistry.class)
+@AutoConfigureAfter(name = "org.springframework.boot.actuate.autoconfigure.metrics.CompositeMeterRegistryAutoConfiguration")
+public class ExceptionHandlerMetricsAutoConfiguration {
+    /**
+     * Creates the meters.
+     *
+     * @param registry   meter registry of the application.
+     * @param properties common.ex-handler properties.
+     * @return micrometer instrumentation.
+     */
+    @Bean
+    public ExceptionHandlerMetrics exceptionHandlerMetrics(MeterRegistry registry, ExceptionHandlerPropertiesReader properties) {
+        return new MicrometerExceptionHandlerMetrics(registry, properties.getMetrics().getMaximumTagValues(),
+            properties.getMetrics().getMaximumSeries());
+    }
+}
@@ -0,0 +1,140 @@
+package com.kbhkn.restexceptionhandler.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Micrometer meters of the exception pipeline.
+ * Tag cardinality is bounded: ND_ codes are collapsed into ND, and each tag keeps only the first distinct values.
+ * The limits of the tags don't bound their combinations, so the counters keep only the first combinations, the later ones are counted as OTHER.
+ * Each counter is registered once and reused, the handlers don't build a meter for each exception.
+ */
+public class MicrometerExceptionHandlerMetrics implements ExceptionHandlerMetrics {
+    private static final String NOT_DEFINED_CODE_PREFIX = "ND_";
+    private static final String HANDLED = "geh.exceptions.handled";
+    private static final String NOT_DEFINED = "geh.exceptions.not.defined";
+    private static final String DEFAULT_MESSAGE = "geh.exceptions.default.message";
+
+    private final MeterRegistry registry;
+    private final Timer lookupTimer;
+    private final TagValueLimiter apis;
+    private final TagValueLimiter modules;
+    private final TagValueLimiter codes;
+    private final TagValueLimiter locales;
+    /* Meter name and the tag values, the combinations of all counters. */
+    private final Map<List<String>, Counter> counters = new ConcurrentHashMap<>();
+    private final int maximumSeries;
+
+    /**
+     * Creates the meters.
+     *
+     * @param registry      meter registry of the application.
+     * @param maximumValues maximum distinct values of each tag.
+     * @param maximumSeries maximum tag combinations of the counters.
+     */
+    public MicrometerExceptionHandlerMetrics(MeterRegistry registry, int maximumValues, int maximumSeries) {
+        this.registry = registry;
+        this.maximumSeries = maximumSeries;
+        this.apis = new TagValueLimiter(maximumValues);
+        this.modules = new TagValueLimiter(maximumValues);
+        this.codes = new TagValueLimiter(maximumValues);
+        this.locales = new TagValueLimiter(maximumValues);
+        this.lookupTimer = Timer.builder("geh.translation.lookup")
+            .description("Latency of the translation lookups, from the memory or the database.")
+            .register(registry);
+    }
+
+    @Override
+    public void exceptionHandled(String handlerType, String api, String module, String code, String locale) {
+        counter(HANDLED, List.of(String.valueOf(handlerType), apis.limit(api), modules.limit(module), codeTag(code), locales.limit(locale)),
+            tags -> Counter.builder(HANDLED)
+                .description("Handled exceptions.")
+                .tag("type", tags.get(1))
+                .tag("api", tags.get(2))
+                .tag("module", tags.get(3))
+                .tag("code", tags.get(4))
+                .tag("locale", tags.get(5))
+                .register(registry))
+            .increment();
+    }
+
+    @Override
+    public void lookupCompleted(long durationNanos) {
+        lookupTimer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    @Override
+    public void notDefined(String api, String module) {
+        counter(NOT_DEFINED, List.of(apis.limit(api), modules.limit(module)),
+            tags -> Counter.builder(NOT_DEFINED)
+                .description("Exceptions returned with the ND_ prefix, their definitions aren't in the api_translations.")
+                .tag("api", tags.get(1))
+                .tag("module", tags.get(2))
+                .register(registry))
+            .increment();
+    }
+
+    @Override
+    public void defaultMessageUsed(String api, String reason) {
+        counter(DEFAULT_MESSAGE, List.of(apis.limit(api), String.valueOf(reason)),
+            tags -> Counter.builder(DEFAULT_MESSAGE)
+                .description("Responses with the defaultErrorMessage property.")
+                .tag("api", tags.get(1))
+                .tag("reason", tags.get(2))
+                .register(registry))
+            .increment();
+    }
+
+    @Override
+    public void gauge(String name, String description, Supplier<Number> value) {
+        Gauge.builder(name, value)
+            .description(description)
+            .strongReference(true)
+            .register(registry);
+    }
+
+    /**
+     * Registered counter of the tag values. After the maximum series, a new combination is counted by the counter whose tag values are OTHER.
+     *
+     * @param name         meter name.
+     * @param tagValues    limited tag values, in the order of the registration.
+     * @param registration registers the counter, gets the meter name and the tag values.
+     * @return counter of the combination.
+     */
+    private Counter counter(String name, List<String> tagValues, Function<List<String>, Counter> registration) {
+        List<String> key = new ArrayList<>(tagValues.size() + 1);
+        key.add(name);
+        key.addAll(tagValues);
+
+        Counter counter = counters.get(key);
+        if (Objects.nonNull(counter)) {
+            return counter;
+        }
+
+        if (counters.size() >= maximumSeries) {
+            key = new ArrayList<>(key.subList(0, 1));
+            key.addAll(Collections.nCopies(tagValues.size(), TagValueLimiter.OTHER));
+        }
+
+        return counters.computeIfAbsent(key, registration);
+    }
+
+    private String codeTag(String code) {
+        if (Objects.nonNull(code) && code.startsWith(NOT_DEFINED_CODE_PREFIX)) {
+            return "ND";
+        }
+
+        return codes.limit(code);
+    }
+}
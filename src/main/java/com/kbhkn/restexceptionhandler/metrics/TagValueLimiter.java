@@ -0,0 +1,32 @@
+package com.kbhkn.restexceptionhandler.metrics;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Bounds the cardinality of a tag. The first distinct values are kept, the later ones are collapsed into OTHER.
+ */
+final class TagValueLimiter {
+    static final String OTHER = "OTHER";
+    static final String NONE = "NONE";
+
+    private final Set<String> values = ConcurrentHashMap.newKeySet();
+    private final int maximumValues;
+
+    TagValueLimiter(int maximumValues) {
+        this.maximumValues = maximumValues;
+    }
+
+    String limit(String value) {
+        if (Objects.isNull(value)) {
+            return NONE;
+        }
+
+        if (values.contains(value) || (values.size() < maximumValues && values.add(value))) {
+            return value;
+        }
+
+        return OTHER;
+    }
+}
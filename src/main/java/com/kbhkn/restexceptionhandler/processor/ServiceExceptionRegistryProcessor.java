@@ -0,0 +1,109 @@
+package com.kbhkn.restexceptionhandler.processor;
+
+import com.kbhkn.restexceptionhandler.exceptions.base.ServiceExceptionRegistry;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Finds the {@link com.kbhkn.restexceptionhandler.exceptions.base.ServiceException} enums of the compiled sources,
+ * then writes them to the registry resource. It is discovered by javac from the classpath, the application doesn't configure anything.
+ * Incremental builds keep the previously registered enums, the ones that don't exist anymore are skipped at runtime.
+ */
+@SupportedAnnotationTypes("*")
+public class ServiceExceptionRegistryProcessor extends AbstractProcessor {
+    private static final String SERVICE_EXCEPTION = "com.kbhkn.restexceptionhandler.exceptions.base.ServiceException";
+
+    private final Set<String> enumNames = new TreeSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        TypeElement serviceException = processingEnv.getElementUtils().getTypeElement(SERVICE_EXCEPTION);
+
+        if (Objects.isNull(serviceException)) {
+            return false;
+        }
+
+        TypeMirror serviceExceptionType = processingEnv.getTypeUtils().erasure(serviceException.asType());
+
+        for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements())) {
+            collect(type, serviceExceptionType);
+        }
+
+        if (roundEnv.processingOver() && !enumNames.isEmpty()) {
+            writeRegistry();
+        }
+
+        // Other processors can still process the annotations.
+        return false;
+    }
+
+    private void collect(TypeElement type, TypeMirror serviceExceptionType) {
+        if (type.getKind() == ElementKind.ENUM
+            && processingEnv.getTypeUtils().isAssignable(processingEnv.getTypeUtils().erasure(type.asType()), serviceExceptionType)) {
+            enumNames.add(processingEnv.getElementUtils().getBinaryName(type).toString());
+        }
+
+        for (Element enclosed : type.getEnclosedElements()) {
+            if (enclosed instanceof TypeElement) {
+                collect((TypeElement) enclosed, serviceExceptionType);
+            }
+        }
+    }
+
+    private void writeRegistry() {
+        readPreviousRegistry();
+
+        try {
+            FileObject registry = processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", ServiceExceptionRegistry.REGISTRY_RESOURCE);
+
+            try (Writer writer = registry.openWriter()) {
+                for (String enumName : enumNames) {
+                    writer.write(enumName);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException ex) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING,
+                "Service Exception registry couldn't be written: " + ex.getMessage());
+        }
+    }
+
+    private void readPreviousRegistry() {
+        try {
+            FileObject previous = processingEnv.getFiler()
+                .getResource(StandardLocation.CLASS_OUTPUT, "", ServiceExceptionRegistry.REGISTRY_RESOURCE);
+
+            try (Reader reader = previous.openReader(true); BufferedReader lines = new BufferedReader(reader)) {
+                lines.lines()
+                    .map(String::trim)
+                    .filter(line -> !line.isEmpty())
+                    .forEach(enumNames::add);
+            }
+        } catch (IOException | IllegalArgumentException ex) {
+            // A clean build, there isn't a previous registry.
+        }
+    }
+}
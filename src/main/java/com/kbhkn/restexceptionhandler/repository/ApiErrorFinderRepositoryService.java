@@ -1,12 +1,27 @@
 package com.kbhkn.restexceptionhandler.repository;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
 import com.zaxxer.hikari.HikariDataSource;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.BeansException;
@@ -15,6 +30,10 @@ import org.springframework.context.ApplicationContext;
 import org.springframework.context.ApplicationContextAware;
 import org.springframework.context.ConfigurableApplicationContext;
 import org.springframework.context.annotation.Lazy;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
@@ -22,6 +41,12 @@ import org.springframework.stereotype.Service;
  * It is a service, of which can search for API definitions.
  * It can use any datasource created as a bean and only needs the bean name for usage.
  * It can create a datasource without any conflict with the whose created in the Spring Context.
+ * Found and not found definitions are cached, so the same definition doesn't hit the database again and again.
+ * Concurrent lookups of the same definition are coalesced into one database call, with or without the cache.
+ * In the snapshot mode, whole definitions are loaded at once and refreshed in the background, lookups never hit the database.
+ * A compact snapshot keeps the deduplicated definitions off-heap, for the very large multi-locale tables.
+ * Found definitions can be kept in a snapshot file, so a restarted instance serves them before the database is reached.
+ * If the resilience is enabled, database lookups are bounded by a deadline and guarded by a circuit breaker.
  *
  * @author Hakan KABASAKAL, 12-Aug-21
  */
@@ -30,9 +55,30 @@ import org.springframework.stereotype.Service;
 @Service
 @RequiredArgsConstructor
 public class ApiErrorFinderRepositoryService implements ApplicationContextAware {
+    private static final int RECONCILE_CHUNK_SIZE = 100;
+    /* Keys of a multi-key statement at most, so the bind count of a statement stays low. */
+    private static final int MULTI_KEY_CHUNK_SIZE = 100;
+
     private final ExceptionHandlerPropertiesReader propertiesReader;
+    private final ExceptionHandlerMetrics metrics;
+    private final Map<Integer, String> multiKeySqlQueries = new ConcurrentHashMap<>();
+    private final SingleFlight<TranslationKey, Optional<Translation>> inFlightLookups = new SingleFlight<>();
     private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    private JdbcTemplate singleRowJdbcTemplate;
+    private String translationsTable;
     private ApplicationContext applicationContext;
+    private Cache<TranslationKey, Optional<Translation>> translationCache;
+    private TranslationSnapshotLoader snapshotLoader;
+    private ScheduledExecutorService snapshotRefresher;
+    private TranslationSnapshotFile snapshotFile;
+    private ScheduledExecutorService snapshotFileWriter;
+    private GuardedTranslationLookup guardedLookup;
+
+    /* Replaced as a whole by the refresher, lookups only read the reference. Null until the first successful load. */
+    private volatile TranslationSnapshot snapshot;
+
+    /* Built once for the dialect of the database. Null until the dialect is detected by the first query. */
+    private volatile String singleRowSql;
 
     /**
      * Finds error desc for the exceptions.
@@ -44,33 +90,226 @@ public class ApiErrorFinderRepositoryService implements ApplicationContextAware
      * @return localizations' messages, if it exists, otherwise return empty.
      */
     public Optional<String> findErrorDescription(String application, String module, String code, String locale) {
-        String sql = prepareSqlQuery();
+        return findTranslation(application, module, code, locale).map(Translation::getValue);
+    }
+
+    /**
+     * Finds error definition for the exceptions. Unlike the desc, it can format the message with the parameters.
+     *
+     * @param application which application?
+     * @param module      which module of application? For the monolithic app, use self, and for microservices, use the name of microservice.
+     * @param code        search key, could be error code, message, i18n apps' keys.
+     * @param locale      which lang? TR, ENG, IT etc.
+     * @return localizations' definition, if it exists, otherwise return empty.
+     * @throws TranslationUnavailableException if the resilience is enabled, the database can't answer and there is no last-known value.
+     */
+    public Optional<Translation> findTranslation(String application, String module, String code, String locale) {
+        TranslationKey key = TranslationKey.of(application, module, code, locale);
+
+        TranslationResult translation = findTranslations(List.of(key)).get(key);
+
+        if (translation.isUnavailable()) {
+            throw new TranslationUnavailableException("Definition couldn't be looked up: " + key, null);
+        }
+
+        return translation.isFound() ? Optional.of(translation.getTranslation()) : Optional.empty();
+    }
+
+    /**
+     * Finds more than one definition at once. Definitions that aren't cached are fetched with a single statement per 100 keys.
+     * I.e., the requested code and the default code are resolved with one round-trip.
+     *
+     * @param keys definitions to find, the first ones have precedence when there are duplicate rows.
+     * @return result of each key.
+     */
+    public Map<TranslationKey, TranslationResult> findTranslations(List<TranslationKey> keys) {
+        long startedAt = System.nanoTime();
+
+        try {
+            return toResults(keys, resolveTranslations(keys));
+        } finally {
+            metrics.lookupCompleted(System.nanoTime() - startedAt);
+        }
+    }
+
+    private Map<TranslationKey, Optional<Translation>> resolveTranslations(List<TranslationKey> keys) {
+        TranslationSnapshot currentSnapshot = snapshot;
+        if (Objects.nonNull(currentSnapshot)) {
+            Map<TranslationKey, Optional<Translation>> translations = new HashMap<>();
+            keys.forEach(key -> translations.put(key, currentSnapshot.find(key)));
+            return translations;
+        }
+
+        if (Objects.isNull(translationCache)) {
+            return loadTranslations(keys);
+        }
+
+        // Not found definitions are cached as empty, so ND_ codes don't hit the database until they are evicted.
+        return translationCache.getAll(keys, this::loadTranslations);
+    }
+
+    /**
+     * Finds the definitions only if they are known without a database query, so a non-blocking caller can skip the thread switch.
+     * Nothing is loaded, the answer doesn't depend on an earlier check which an eviction or a refresh may have already invalidated.
+     *
+     * @param keys definitions to find.
+     * @return found definitions like {@link #findTranslations(List)}, empty if the snapshot isn't loaded and any of them isn't cached.
+     */
+    public Optional<Map<TranslationKey, TranslationResult>> findTranslationsIfPresent(List<TranslationKey> keys) {
+        TranslationSnapshot currentSnapshot = snapshot;
+        if (Objects.nonNull(currentSnapshot)) {
+            Map<TranslationKey, Optional<Translation>> translations = new HashMap<>();
+            keys.forEach(key -> translations.put(key, currentSnapshot.find(key)));
+            return Optional.of(toResults(keys, translations));
+        }
+
+        if (Objects.isNull(translationCache)) {
+            return Optional.empty();
+        }
+
+        Map<TranslationKey, Optional<Translation>> translations = translationCache.getAllPresent(keys);
+
+        return translations.keySet().containsAll(keys) ? Optional.of(toResults(keys, translations)) : Optional.empty();
+    }
+
+    /**
+     * Finds the locales which have at least one definition, so the requested locales can be negotiated against them.
+     *
+     * @return upper-case locales, i.e. TR, EN, EN_GB.
+     */
+    public Set<String> findLocales() {
+        TranslationSnapshot currentSnapshot = snapshot;
+        if (Objects.nonNull(currentSnapshot)) {
+            return currentSnapshot.locales();
+        }
+
+        String sql = "select distinct locale from " + translationsTable + " where type = 'EX'";
 
-        Map<String, String> queryParameters = getQueryParameters(application, module, code, locale);
+        return namedParameterJdbcTemplate.queryForList(sql, Map.of(), String.class).stream()
+            .filter(Objects::nonNull)
+            .map(locale -> locale.toUpperCase(Locale.ROOT))
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * The lookups keep the not found definitions as empty and leave the ones which couldn't be looked up out, each of them is given its result.
+     */
+    private static Map<TranslationKey, TranslationResult> toResults(List<TranslationKey> keys, Map<TranslationKey, Optional<Translation>> translations) {
+        Map<TranslationKey, TranslationResult> results = new HashMap<>();
+        keys.forEach(key -> results.put(key, TranslationResult.of(translations.get(key))));
+
+        return results;
+    }
+
+    /**
+     * Concurrent lookups of the same definition share one database call, i.e. a burst of the same exception costs one query.
+     */
+    private Map<TranslationKey, Optional<Translation>> loadTranslations(Iterable<? extends TranslationKey> keys) {
+        List<TranslationKey> keyList = new ArrayList<>();
+        keys.forEach(keyList::add);
+
+        return inFlightLookups.load(keyList, ownedKeys ->
+            Objects.isNull(guardedLookup) ? queryTranslations(ownedKeys) : guardedLookup.lookup(ownedKeys));
+    }
+
+    private Map<TranslationKey, Optional<Translation>> queryTranslations(List<TranslationKey> keys) {
+        Map<TranslationKey, Optional<Translation>> translations = new HashMap<>();
+
+        if (keys.size() > MULTI_KEY_CHUNK_SIZE) {
+            for (int from = 0; from < keys.size(); from += MULTI_KEY_CHUNK_SIZE) {
+                translations.putAll(queryTranslations(keys.subList(from, Math.min(keys.size(), from + MULTI_KEY_CHUNK_SIZE))));
+            }
+
+            return translations;
+        }
+
+        if (keys.size() == 1) {
+            TranslationKey key = keys.get(0);
+            translations.put(key, queryTranslation(key));
+
+            return translations;
+        }
+
+        // The last key is repeated up to the statement size, so only a few statement shapes are prepared and cached.
+        int statementSize = multiKeyStatementSize(keys.size());
+        MapSqlParameterSource queryParameters = new MapSqlParameterSource();
+        for (int i = 0; i < statementSize; i++) {
+            TranslationKey key = keys.get(Math.min(i, keys.size() - 1));
+            queryParameters.addValue("application" + i, key.getApplication())
+                .addValue("module" + i, key.getModule())
+                .addValue("code" + i, key.getCode())
+                .addValue("locale" + i, key.getLocale());
+        }
+
+        namedParameterJdbcTemplate.query(prepareMultiKeySqlQuery(statementSize), queryParameters, resultSet -> {
+            TranslationKey key = TranslationKey.of(resultSet.getString("application"), resultSet.getString("module"),
+                resultSet.getString("code"), resultSet.getString("locale"));
+
+            // Rows are ordered by precedence, the first row of a key wins.
+            translations.putIfAbsent(key, Optional.of(new Translation(resultSet.getString("value"))));
+        });
+
+        keys.forEach(key -> translations.putIfAbsent(key, Optional.empty()));
 
-        List<String> values = namedParameterJdbcTemplate.queryForList(sql, queryParameters, String.class);
+        return translations;
+    }
+
+    private Optional<Translation> queryTranslation(TranslationKey key) {
+        ResultSetExtractor<Optional<Translation>> firstRow = resultSet -> resultSet.next()
+            ? Optional.of(new Translation(resultSet.getString("value")))
+            : Optional.empty();
 
-        return values.isEmpty() ? Optional.empty() : Optional.of(values.get(0));
+        return singleRowJdbcTemplate.query(getSingleRowSql(), firstRow, key.getApplication(), key.getModule(), key.getCode(), key.getLocale());
     }
 
-    private String prepareSqlQuery() {
-        String schema = propertiesReader.getDatasource().getSchemaName();
+    /**
+     * Detects the dialect by the first query, then the same statement text is used, so the driver can reuse the prepared statement.
+     */
+    private String getSingleRowSql() {
+        String sql = singleRowSql;
+
+        if (Objects.isNull(sql)) {
+            TranslationDialect dialect = singleRowJdbcTemplate.execute((ConnectionCallback<TranslationDialect>) connection ->
+                TranslationDialect.of(connection.getMetaData()));
+
+            sql = dialect.singleRowQuery("value", translationsTable,
+                "application = ? and module = ? and code = ? and locale = ? and type = 'EX'");
+            singleRowSql = sql;
 
-        return "select value from " + schema.toLowerCase() + ".api_translations"
-            + " where application = :application and module = :module and code = :code and locale = :locale"
-            + " and type = 'EX' and rownum < 2";
+            log.info("--- Api Translations Service's dialect: {}, Query: {}", dialect, sql);
+        }
+
+        return sql;
     }
 
-    private Map<String, String> getQueryParameters(String application, String module, String code, String locale) {
-        // Used Java11 Map feature, the first value is a key, and the second value is the value of the key.
-        return Map.of(
-            "code", code,
-            "module", module,
-            "application", application,
-            "locale", locale.toUpperCase()
-        );
+    /**
+     * The next power of two up to the chunk size, i.e. 2, 4, 8, ..., 64, 100.
+     */
+    private static int multiKeyStatementSize(int keyCount) {
+        return Math.min(MULTI_KEY_CHUNK_SIZE, Integer.highestOneBit(keyCount - 1) << 1);
     }
 
+    /**
+     * Prepares the statement for the given key count once. Rows are ordered by the position of their key.
+     */
+    private String prepareMultiKeySqlQuery(int keyCount) {
+        return multiKeySqlQueries.computeIfAbsent(keyCount, count -> {
+            StringBuilder conditions = new StringBuilder();
+            StringBuilder precedence = new StringBuilder(" order by case");
+
+            for (int i = 0; i < count; i++) {
+                String condition = "(application = :application" + i + " and module = :module" + i
+                    + " and code = :code" + i + " and locale = :locale" + i + ")";
+
+                conditions.append(i == 0 ? "" : " or ").append(condition);
+                precedence.append(" when ").append(condition).append(" then ").append(i);
+            }
+
+            return "select application, module, code, locale, value from " + translationsTable
+                + " where type = 'EX' and (" + conditions + ")"
+                + precedence + " end";
+        });
+    }
 
     /**
      * Creates this.context.
@@ -91,10 +330,253 @@ public class ApiErrorFinderRepositoryService implements ApplicationContextAware
         HikariDataSource dataSource = createOrGetDatasource();
 
         namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(dataSource);
+        translationsTable = propertiesReader.getDatasource().getSchemaName().toLowerCase(Locale.ROOT) + ".api_translations";
+
+        // Only the first row of a lookup is read.
+        singleRowJdbcTemplate = new JdbcTemplate(dataSource);
+        singleRowJdbcTemplate.setFetchSize(1);
+        singleRowJdbcTemplate.setMaxRows(1);
+
+        setQueryTimeout(propertiesReader.getDatasource().getQueryTimeout());
+
+        translationCache = createTranslationCache();
+
+        if (propertiesReader.getSnapshotFile().isEnabled()) {
+            snapshotFile = createSnapshotFile();
+        }
+
+        if (propertiesReader.getResilience().isEnabled()) {
+            startGuardedLookups();
+        }
+
+        if (propertiesReader.getSnapshot().isEnabled()) {
+            startSnapshotMode(dataSource);
+        } else if (Objects.nonNull(snapshotFile) && Objects.nonNull(translationCache)) {
+            startCachePersistence();
+        }
+
+        registerGauges();
 
         log.info("--- Api Translations Service's created. Schema: {}, Table: api_translations", propertiesReader.getDatasource().getSchemaName());
     }
 
+    /**
+     * Opens a connection of the pool, so the first lookup doesn't pay the connection handshake.
+     *
+     * @return product name of the database.
+     */
+    public String warmUp() {
+        String databaseProductName = namedParameterJdbcTemplate.getJdbcTemplate()
+            .execute((ConnectionCallback<String>) connection -> connection.getMetaData().getDatabaseProductName());
+
+        log.info("--- Api Translations Service's connection is warmed up. Database: {}", databaseProductName);
+
+        getSingleRowSql();
+
+        return databaseProductName;
+    }
+
+    /**
+     * Stops the snapshot refresher, if it is running. Without the snapshot mode, the cached definitions are written to the snapshot file.
+     */
+    @PreDestroy
+    public void destroy() {
+        if (Objects.nonNull(snapshotRefresher)) {
+            snapshotRefresher.shutdownNow();
+        }
+
+        if (Objects.nonNull(snapshotFileWriter)) {
+            snapshotFileWriter.shutdownNow();
+            writeCachedTranslations();
+        }
+
+        if (Objects.nonNull(guardedLookup)) {
+            guardedLookup.shutdown();
+        }
+    }
+
+    private void registerGauges() {
+        metrics.gauge("geh.translation.lookup.in.flight", "Definitions being looked up now, concurrent lookups of them wait for these.",
+            inFlightLookups::size);
+
+        if (Objects.nonNull(translationCache)) {
+            metrics.gauge("geh.translation.cache.size", "Cached definitions, includes the not found ones.",
+                translationCache::estimatedSize);
+            metrics.gauge("geh.translation.cache.hit.ratio", "Hit ratio of the translation cache.",
+                () -> translationCache.stats().hitRate());
+        }
+
+        if (propertiesReader.getSnapshot().isEnabled()) {
+            metrics.gauge("geh.translation.snapshot.size", "Definitions in the snapshot.", () -> {
+                TranslationSnapshot currentSnapshot = snapshot;
+                return Objects.isNull(currentSnapshot) ? 0 : currentSnapshot.size();
+            });
+        }
+
+        if (propertiesReader.getSnapshot().isEnabled() && propertiesReader.getSnapshot().isCompact()) {
+            metrics.gauge("geh.translation.store.off.heap.bytes", "Off-heap UTF-8 arena of the compact snapshot.", () -> {
+                TranslationSnapshot currentSnapshot = snapshot;
+                return Objects.isNull(currentSnapshot) ? 0 : currentSnapshot.offHeapBytes();
+            });
+            metrics.gauge("geh.translation.store.index.bytes", "On-heap primitive index of the compact snapshot.", () -> {
+                TranslationSnapshot currentSnapshot = snapshot;
+                return Objects.isNull(currentSnapshot) ? 0 : currentSnapshot.indexBytes();
+            });
+            metrics.gauge("geh.translation.store.strings", "Distinct strings of the compact snapshot.", () -> {
+                TranslationSnapshot currentSnapshot = snapshot;
+                return Objects.isNull(currentSnapshot) ? 0 : currentSnapshot.distinctStrings();
+            });
+        }
+    }
+
+    private void startGuardedLookups() {
+        ExceptionHandlerPropertiesReader.Resilience resilience = propertiesReader.getResilience();
+
+        // The statement is also cancelled in the database, not only abandoned by the request thread.
+        setQueryTimeout(resilience.getDeadline());
+
+        guardedLookup = new GuardedTranslationLookup(this::queryTranslations, resilience, propertiesReader.getCache().getMaximumSize());
+
+        log.info("--- Api Translations Service's resilience ops. Deadline: {}, Failure threshold: {}, Open duration: {}",
+            resilience.getDeadline(), resilience.getFailureThreshold(), resilience.getOpenDuration());
+    }
+
+    private void setQueryTimeout(Duration queryTimeout) {
+        if (Objects.isNull(queryTimeout) || queryTimeout.isZero() || queryTimeout.isNegative()) {
+            return;
+        }
+
+        // JDBC timeouts are in seconds, rounded up.
+        int queryTimeoutSeconds = (int) Math.max(1, (queryTimeout.toMillis() + 999) / 1_000);
+        namedParameterJdbcTemplate.getJdbcTemplate().setQueryTimeout(queryTimeoutSeconds);
+        singleRowJdbcTemplate.setQueryTimeout(queryTimeoutSeconds);
+    }
+
+    private void startSnapshotMode(HikariDataSource dataSource) {
+        snapshotLoader = new TranslationSnapshotLoader(dataSource, propertiesReader);
+
+        long period = propertiesReader.getSnapshot().getRefreshInterval().toMillis();
+        long initialDelay = period;
+
+        Optional<Map<TranslationKey, String>> persisted = Objects.isNull(snapshotFile) ? Optional.empty() : snapshotFile.read();
+
+        if (persisted.isPresent()) {
+            // Served from the file at once, the database is reconciled by the refresher in the background.
+            TranslationSnapshot.Builder builder = TranslationSnapshot.builder(propertiesReader.getSnapshot().isCompact());
+            persisted.get().forEach(builder::put);
+            snapshot = builder.build();
+            initialDelay = 0;
+
+            log.info("--- Api Translations Service's snapshot is loaded from the snapshot file. Definitions: {}", snapshot.size());
+        } else {
+            // The first load blocks, a failed one is retried by the refresher. Meanwhile, lookups go to the database.
+            refreshSnapshot();
+        }
+
+        snapshotRefresher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GEH-snapshot-refresher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        snapshotRefresher.scheduleWithFixedDelay(this::refreshSnapshot, initialDelay, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void refreshSnapshot() {
+        try {
+            TranslationSnapshot currentSnapshot = snapshot;
+            TranslationSnapshot refreshedSnapshot = snapshotLoader.load(currentSnapshot);
+
+            // Nothing has changed, the file already has the definitions.
+            if (refreshedSnapshot == currentSnapshot) {
+                return;
+            }
+
+            snapshot = refreshedSnapshot;
+
+            if (Objects.nonNull(snapshotFile)) {
+                snapshotFile.write(refreshedSnapshot);
+            }
+        } catch (RuntimeException ex) {
+            log.error("--- Api Translations Service's snapshot couldn't be refreshed, the previous one is in use.", ex);
+        }
+    }
+
+    private TranslationSnapshotFile createSnapshotFile() {
+        ExceptionHandlerPropertiesReader.SnapshotFile snapshotFileProperties = propertiesReader.getSnapshotFile();
+        String schemaName = propertiesReader.getDatasource().getSchemaName();
+
+        Path path = Objects.isNull(snapshotFileProperties.getPath()) || snapshotFileProperties.getPath().trim().isEmpty()
+            ? Path.of(System.getProperty("java.io.tmpdir"), "geh-" + schemaName.toLowerCase(Locale.ROOT) + "-translations.snapshot")
+            : Path.of(snapshotFileProperties.getPath().trim());
+
+        log.info("--- Api Translations Service's snapshot file: {}, Max age: {}", path, snapshotFileProperties.getMaxAge());
+
+        return new TranslationSnapshotFile(path, schemaName, snapshotFileProperties.getMaxAge());
+    }
+
+    /**
+     * Without the snapshot mode, the cache is seeded from the snapshot file, then the seeded definitions are looked up again in the background.
+     * The cached definitions are written to the file periodically.
+     */
+    private void startCachePersistence() {
+        Map<TranslationKey, String> persisted = snapshotFile.read().orElse(Map.of());
+        persisted.forEach((key, value) -> translationCache.put(key, Optional.of(new Translation(value))));
+
+        snapshotFileWriter = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "GEH-snapshot-file");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        if (!persisted.isEmpty()) {
+            log.info("--- Api Translations Service's cache is seeded from the snapshot file. Definitions: {}", persisted.size());
+
+            snapshotFileWriter.execute(() -> reconcileCachedTranslations(new ArrayList<>(persisted.keySet())));
+        }
+
+        long period = propertiesReader.getSnapshotFile().getWriteInterval().toMillis();
+        snapshotFileWriter.scheduleWithFixedDelay(this::writeCachedTranslations, period, period, TimeUnit.MILLISECONDS);
+    }
+
+    private void reconcileCachedTranslations(List<TranslationKey> keys) {
+        for (int from = 0; from < keys.size(); from += RECONCILE_CHUNK_SIZE) {
+            try {
+                translationCache.putAll(loadTranslations(keys.subList(from, Math.min(keys.size(), from + RECONCILE_CHUNK_SIZE))));
+            } catch (RuntimeException ex) {
+                log.warn("--- Api Translations Service's seeded definitions couldn't be reconciled, they expire with the cache.", ex);
+                return;
+            }
+        }
+
+        log.info("--- Api Translations Service's seeded definitions are reconciled with the database. Definitions: {}", keys.size());
+    }
+
+    private void writeCachedTranslations() {
+        Map<TranslationKey, String> found = new HashMap<>();
+        translationCache.asMap().forEach((key, translation) -> translation.ifPresent(value -> found.put(key, value.getValue())));
+
+        snapshotFile.write(found);
+    }
+
+    private Cache<TranslationKey, Optional<Translation>> createTranslationCache() {
+        ExceptionHandlerPropertiesReader.Cache cacheProperties = propertiesReader.getCache();
+
+        if (!cacheProperties.isEnabled()) {
+            log.info("--- Api Translations Service's cache is disabled.");
+
+            return null;
+        }
+
+        log.info("--- Api Translations Service's cache ops. Maximum size: {}, Time to live: {}",
+            cacheProperties.getMaximumSize(), cacheProperties.getTimeToLive());
+
+        return Caffeine.newBuilder()
+            .maximumSize(cacheProperties.getMaximumSize())
+            .expireAfterWrite(cacheProperties.getTimeToLive())
+            .recordStats()
+            .build();
+    }
+
     private HikariDataSource createOrGetDatasource() {
         String datasourceUrl = propertiesReader.getDatasource().getUrl();
 
@@ -118,12 +600,44 @@ public class ApiErrorFinderRepositoryService implements ApplicationContextAware
 
 
         hikariDataSource.setPoolName("GEH_" + datasourceProperties.getName());
+        hikariDataSource.setMaximumPoolSize(datasourceProperties.getMaximumPoolSize());
+        hikariDataSource.setMinimumIdle(datasourceProperties.getMinimumIdle());
+        hikariDataSource.setConnectionTimeout(datasourceProperties.getConnectionTimeout().toMillis());
+        hikariDataSource.setValidationTimeout(datasourceProperties.getValidationTimeout().toMillis());
+        hikariDataSource.setIdleTimeout(datasourceProperties.getIdleTimeout().toMillis());
+        hikariDataSource.setMaxLifetime(datasourceProperties.getMaxLifetime().toMillis());
+
+        statementCacheProperties(datasourceProperties.getUrl(), datasourceProperties.getStatementCacheSize())
+            .forEach(hikariDataSource::addDataSourceProperty);
+        datasourceProperties.getDataSourceProperties().forEach(hikariDataSource::addDataSourceProperty);
 
-        log.info("--- Api Translations Service's Datasource ops. Created Api Error Datasource name: {}", hikariDataSource.getPoolName());
+        log.info("--- Api Translations Service's Datasource ops. Created Api Error Datasource name: {}, Pool size: {}, Statement cache: {}",
+            hikariDataSource.getPoolName(), datasourceProperties.getMaximumPoolSize(), datasourceProperties.getStatementCacheSize());
 
         return hikariDataSource;
     }
 
+    /**
+     * Prepared statement cache properties of the known drivers. Hikari doesn't cache statements, the driver does it per connection.
+     */
+    private static Map<String, String> statementCacheProperties(String url, int statementCacheSize) {
+        if (statementCacheSize <= 0) {
+            return Map.of();
+        }
+
+        String size = String.valueOf(statementCacheSize);
+
+        if (url.startsWith("jdbc:oracle:")) {
+            return Map.of("oracle.jdbc.implicitStatementCacheSize", size);
+        } else if (url.startsWith("jdbc:mysql:") || url.startsWith("jdbc:mariadb:")) {
+            return Map.of("cachePrepStmts", "true", "prepStmtCacheSize", size, "useServerPrepStmts", "true");
+        } else if (url.startsWith("jdbc:postgresql:")) {
+            return Map.of("preparedStatementCacheQueries", size);
+        }
+
+        return Map.of();
+    }
+
     private HikariDataSource getDatasourceFromApplicationContext() {
         String dsName = propertiesReader.getDatasource().getName();
 
@@ -0,0 +1,586 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * Immutable, compact form of the definitions for the very large tables.
+ * Each distinct string (application, module, code, locale and value) is stored once, as UTF-8 in an off-heap arena.
+ * A definition is five arena offsets in a primitive array, the keys are found by an open-addressing index of the entry numbers.
+ * Keys are compared against the arena without decoding, Strings are created only for the found values.
+ * The recently found values are kept by their arena offset with their compiled templates, so a hot definition isn't decoded and compiled each time.
+ * A refresh merges the changed rows into a new store: the arena is only appended to, so the offsets and the index stay valid.
+ * The merged store appends into the spare capacity of the same arena, the arena is copied only when it is full and it grows twice as large.
+ */
+final class CompactTranslationStore {
+    private static final int FIELDS = 5;
+    private static final int APPLICATION = 0;
+    private static final int MODULE = 1;
+    private static final int CODE = 2;
+    private static final int LOCALE = 3;
+    private static final int VALUE = 4;
+
+    /* Offset of the null strings. */
+    private static final int NULL_OFFSET = -1;
+
+    /* Found values kept on-heap by their offset, a value shared by many definitions is kept once. */
+    private static final int HOT_VALUES = 4_096;
+
+    private static final int MAX_ARENA_BYTES = Integer.MAX_VALUE - 8;
+
+    /* Shared with the merged stores, each of them reads only up to its own size. */
+    private final SharedArena sharedArena;
+    private final ByteBuffer arena;
+    private final int[] entries;
+    private final int[] hashes;
+    /* Entry number + 1, 0 is an empty slot. */
+    private final int[] index;
+    private final int mask;
+    /* Arena size of the last compaction, the merges append to it. */
+    private final long compactedBytes;
+    private final Cache<Integer, Translation> hotValues;
+
+    /* Counted on the first read after a merge, -1 until then. Racing readers count the same value. */
+    private int distinctStrings;
+
+    private CompactTranslationStore(SharedArena sharedArena, int arenaSize, int[] entries, int[] hashes, int[] index, int distinctStrings,
+                                    long compactedBytes, Cache<Integer, Translation> hotValues) {
+        this.sharedArena = sharedArena;
+        this.arena = sharedArena.view(arenaSize);
+        this.entries = entries;
+        this.hashes = hashes;
+        this.index = index;
+        this.mask = index.length - 1;
+        this.distinctStrings = distinctStrings;
+        this.compactedBytes = compactedBytes;
+        this.hotValues = hotValues;
+    }
+
+    /**
+     * Builds the store. The on-heap strings of the definitions aren't referenced after this.
+     *
+     * @param translations definition values by key.
+     * @return compact store.
+     */
+    static CompactTranslationStore of(Map<TranslationKey, String> translations) {
+        int size = translations.size();
+
+        ArenaWriter writer = new ArenaWriter(null, 0);
+        int[] entries = new int[size * FIELDS];
+        int[] hashes = new int[size];
+        int entry = 0;
+
+        for (Map.Entry<TranslationKey, String> translation : translations.entrySet()) {
+            writeEntry(writer, entries, hashes, entry++, translation.getKey(), translation.getValue());
+        }
+
+        return new CompactTranslationStore(writer.write(), writer.arenaSize(), entries, hashes, buildIndex(hashes, size),
+            writer.distinctStrings(), writer.arenaSize(), newHotValues());
+    }
+
+    /**
+     * Merges the changed definitions into a new store, this one is never changed.
+     * The arena of this store is reused as it is and only the new strings are appended, into its spare capacity unless it is full or another store
+     * has already appended to it. The entries are copied and only the changed ones are updated.
+     * The index is copied and only the added keys are inserted, unless it has to grow. Nothing of this store is decoded.
+     * The hot values are kept while the arena is the same.
+     * When the appended strings make the arena twice as large as its last compaction, the overridden strings are dropped by a compaction.
+     *
+     * @param changes changed or added definition values by key.
+     * @return merged store, this one if nothing has changed.
+     */
+    CompactTranslationStore merge(Map<TranslationKey, String> changes) {
+        int size = size();
+        ArenaWriter writer = new ArenaWriter(sharedArena, arena.limit());
+        int[] mergedEntries = Arrays.copyOf(entries, (size + changes.size()) * FIELDS);
+        int[] mergedHashes = Arrays.copyOf(hashes, size + changes.size());
+        int mergedSize = size;
+        boolean changed = false;
+
+        for (Map.Entry<TranslationKey, String> change : changes.entrySet()) {
+            int entry = findEntry(change.getKey());
+
+            if (entry < 0) {
+                writeEntry(writer, mergedEntries, mergedHashes, mergedSize++, change.getKey(), change.getValue());
+                changed = true;
+            } else if (!equalsUtf8(entries[entry * FIELDS + VALUE], change.getValue())) {
+                mergedEntries[entry * FIELDS + VALUE] = writer.intern(change.getValue());
+                changed = true;
+            }
+        }
+
+        if (!changed) {
+            return this;
+        }
+
+        mergedEntries = Arrays.copyOf(mergedEntries, mergedSize * FIELDS);
+        mergedHashes = Arrays.copyOf(mergedHashes, mergedSize);
+
+        int[] mergedIndex;
+        if (indexSize(mergedSize) == index.length) {
+            mergedIndex = Arrays.copyOf(index, index.length);
+            for (int entry = size; entry < mergedSize; entry++) {
+                insert(mergedIndex, mergedHashes[entry], entry);
+            }
+        } else {
+            mergedIndex = buildIndex(mergedHashes, mergedSize);
+        }
+
+        // An offset is unique only in its arena, another merge of this store could write another string at it into a copied arena.
+        SharedArena mergedArena = writer.write();
+        Cache<Integer, Translation> mergedHotValues = mergedArena == sharedArena ? hotValues : newHotValues();
+
+        CompactTranslationStore merged = new CompactTranslationStore(mergedArena, writer.arenaSize(), mergedEntries, mergedHashes,
+            mergedIndex, -1, compactedBytes, mergedHotValues);
+
+        return writer.arenaSize() > compactedBytes * 2 ? merged.compacted() : merged;
+    }
+
+    /**
+     * Definition of the key.
+     *
+     * @param key composite key.
+     * @return definition, the same instance while it is hot, null if it isn't defined.
+     */
+    Translation find(TranslationKey key) {
+        int entry = findEntry(key);
+
+        if (entry < 0) {
+            return null;
+        }
+
+        int valueOffset = entries[entry * FIELDS + VALUE];
+
+        return valueOffset == NULL_OFFSET ? null : hotValues.get(valueOffset, offset -> new Translation(decode(offset)));
+    }
+
+    /**
+     * Decodes each definition, i.e. to persist them.
+     */
+    void forEach(BiConsumer<TranslationKey, String> consumer) {
+        for (int entry = 0; entry < hashes.length; entry++) {
+            int offset = entry * FIELDS;
+
+            consumer.accept(TranslationKey.of(decode(entries[offset + APPLICATION]), decode(entries[offset + MODULE]),
+                decode(entries[offset + CODE]), decode(entries[offset + LOCALE])), decode(entries[offset + VALUE]));
+        }
+    }
+
+    /**
+     * Distinct locales, each is decoded once.
+     *
+     * @return locales of the definitions.
+     */
+    Set<String> locales() {
+        Set<Integer> offsets = new HashSet<>();
+        for (int entry = 0; entry < hashes.length; entry++) {
+            offsets.add(entries[entry * FIELDS + LOCALE]);
+        }
+
+        Set<String> locales = new HashSet<>();
+        offsets.forEach(offset -> locales.add(decode(offset)));
+
+        return locales;
+    }
+
+    int size() {
+        return hashes.length;
+    }
+
+    long offHeapBytes() {
+        return sharedArena.capacity();
+    }
+
+    long indexBytes() {
+        return ((long) entries.length + hashes.length + index.length) * Integer.BYTES;
+    }
+
+    /**
+     * Distinct strings of the definitions by their content. A merge deduplicates only the strings it appends,
+     * so they are counted once after it, and the count is kept.
+     */
+    int distinctStrings() {
+        if (distinctStrings < 0) {
+            distinctStrings = countDistinctStrings();
+        }
+
+        return distinctStrings;
+    }
+
+    private int findEntry(TranslationKey key) {
+        int hash = key.hashCode();
+        int slot = spread(hash) & mask;
+
+        while (true) {
+            int entry = index[slot] - 1;
+
+            if (entry < 0 || (hashes[entry] == hash && matches(entry, key))) {
+                return entry;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    /**
+     * Copies the referenced strings into a new arena, each once. The entry numbers don't change, so the index is shared.
+     */
+    private CompactTranslationStore compacted() {
+        ArenaWriter writer = new ArenaWriter(null, 0);
+        Map<Integer, Integer> offsets = new HashMap<>();
+        int[] compactedEntries = new int[entries.length];
+
+        for (int i = 0; i < entries.length; i++) {
+            compactedEntries[i] = entries[i] == NULL_OFFSET
+                ? NULL_OFFSET
+                : offsets.computeIfAbsent(entries[i], offset -> writer.intern(decode(offset)));
+        }
+
+        return new CompactTranslationStore(writer.write(), writer.arenaSize(), compactedEntries, hashes, index, writer.distinctStrings(),
+            writer.arenaSize(), newHotValues());
+    }
+
+    private int countDistinctStrings() {
+        int[] strings = new int[1_024];
+        int count = 0;
+
+        for (int offset : entries) {
+            if (offset != NULL_OFFSET && addDistinct(strings, offset) && ++count * 2 > strings.length) {
+                int[] grown = new int[strings.length * 2];
+                for (int string : strings) {
+                    if (string != 0) {
+                        addDistinct(grown, string - 1);
+                    }
+                }
+                strings = grown;
+            }
+        }
+
+        return count;
+    }
+
+    /**
+     * Adds the offset to the open-addressing set of offset + 1, unless a string of the same content is already in it.
+     */
+    private boolean addDistinct(int[] strings, int offset) {
+        int slot = spread(hashUtf8(offset)) & (strings.length - 1);
+
+        while (true) {
+            int existing = strings[slot] - 1;
+
+            if (existing < 0) {
+                strings[slot] = offset + 1;
+                return true;
+            }
+
+            if (existing == offset || equalsUtf8(existing, offset)) {
+                return false;
+            }
+
+            slot = (slot + 1) & (strings.length - 1);
+        }
+    }
+
+    private static void writeEntry(ArenaWriter writer, int[] entries, int[] hashes, int entry, TranslationKey key, String value) {
+        int offset = entry * FIELDS;
+
+        entries[offset + APPLICATION] = writer.intern(key.getApplication());
+        entries[offset + MODULE] = writer.intern(key.getModule());
+        entries[offset + CODE] = writer.intern(key.getCode());
+        entries[offset + LOCALE] = writer.intern(key.getLocale());
+        entries[offset + VALUE] = writer.intern(value);
+        hashes[entry] = key.hashCode();
+    }
+
+    /**
+     * Load factor is at most 0.5, so the probes stay short.
+     */
+    private static int indexSize(int size) {
+        return Integer.highestOneBit(Math.max(2, size * 2) - 1) << 1;
+    }
+
+    private static int[] buildIndex(int[] hashes, int size) {
+        int[] index = new int[indexSize(size)];
+
+        for (int entry = 0; entry < size; entry++) {
+            insert(index, hashes[entry], entry);
+        }
+
+        return index;
+    }
+
+    private static void insert(int[] index, int hash, int entry) {
+        int slot = spread(hash) & (index.length - 1);
+
+        while (index[slot] != 0) {
+            slot = (slot + 1) & (index.length - 1);
+        }
+
+        index[slot] = entry + 1;
+    }
+
+    private static Cache<Integer, Translation> newHotValues() {
+        return Caffeine.newBuilder().maximumSize(HOT_VALUES).build();
+    }
+
+    private boolean matches(int entry, TranslationKey key) {
+        int offset = entry * FIELDS;
+
+        return equalsUtf8(entries[offset + CODE], key.getCode())
+            && equalsUtf8(entries[offset + LOCALE], key.getLocale())
+            && equalsUtf8(entries[offset + MODULE], key.getModule())
+            && equalsUtf8(entries[offset + APPLICATION], key.getApplication());
+    }
+
+    /**
+     * Compares the UTF-8 string in the arena with the string, code point by code point, without decoding it.
+     */
+    private boolean equalsUtf8(int offset, String string) {
+        if (offset == NULL_OFFSET || Objects.isNull(string)) {
+            return offset == NULL_OFFSET && Objects.isNull(string);
+        }
+
+        int length = readLength(offset);
+        int position = offset + lengthSize(length);
+        int end = position + length;
+        int charIndex = 0;
+
+        while (position < end) {
+            int first = arena.get(position) & 0xFF;
+            int codePoint;
+
+            if (first < 0x80) {
+                codePoint = first;
+                position += 1;
+            } else if (first < 0xE0) {
+                codePoint = ((first & 0x1F) << 6) | (arena.get(position + 1) & 0x3F);
+                position += 2;
+            } else if (first < 0xF0) {
+                codePoint = ((first & 0x0F) << 12) | ((arena.get(position + 1) & 0x3F) << 6) | (arena.get(position + 2) & 0x3F);
+                position += 3;
+            } else {
+                codePoint = ((first & 0x07) << 18) | ((arena.get(position + 1) & 0x3F) << 12)
+                    | ((arena.get(position + 2) & 0x3F) << 6) | (arena.get(position + 3) & 0x3F);
+                position += 4;
+            }
+
+            if (charIndex >= string.length() || string.codePointAt(charIndex) != codePoint) {
+                return false;
+            }
+
+            charIndex += Character.charCount(codePoint);
+        }
+
+        return charIndex == string.length();
+    }
+
+    private boolean equalsUtf8(int offset, int otherOffset) {
+        int length = readLength(offset);
+
+        if (length != readLength(otherOffset)) {
+            return false;
+        }
+
+        int position = offset + lengthSize(length);
+        int otherPosition = otherOffset + lengthSize(length);
+
+        for (int i = 0; i < length; i++) {
+            if (arena.get(position + i) != arena.get(otherPosition + i)) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private int hashUtf8(int offset) {
+        int length = readLength(offset);
+        int position = offset + lengthSize(length);
+        int hash = length;
+
+        for (int i = position; i < position + length; i++) {
+            hash = 31 * hash + arena.get(i);
+        }
+
+        return hash;
+    }
+
+    private String decode(int offset) {
+        if (offset == NULL_OFFSET) {
+            return null;
+        }
+
+        int length = readLength(offset);
+        byte[] utf8 = new byte[length];
+
+        ByteBuffer view = arena.duplicate();
+        view.position(offset + lengthSize(length));
+        view.get(utf8);
+
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Length prefix: 1 byte below 128, otherwise 4 bytes with the high bit set.
+     */
+    private int readLength(int offset) {
+        int first = arena.get(offset) & 0xFF;
+
+        return first < 0x80 ? first : arena.getInt(offset) & Integer.MAX_VALUE;
+    }
+
+    private static int lengthSize(int length) {
+        return length < 0x80 ? 1 : Integer.BYTES;
+    }
+
+    private static int spread(int hash) {
+        int spread = hash * 0x9E3779B9;
+        return spread ^ (spread >>> 16);
+    }
+
+    /**
+     * Appends the distinct strings to a growing heap buffer, then copies them off-heap once, after the base arena if there is one.
+     * Only the appended strings are deduplicated, the strings of the base arena aren't decoded.
+     */
+    private static final class ArenaWriter {
+        private final Map<String, Integer> offsets = new HashMap<>();
+        private final SharedArena base;
+        private final int baseSize;
+        private byte[] bytes = new byte[8_192];
+        private int size;
+
+        ArenaWriter(SharedArena base, int baseSize) {
+            this.base = base;
+            this.baseSize = baseSize;
+        }
+
+        int intern(String string) {
+            if (Objects.isNull(string)) {
+                return NULL_OFFSET;
+            }
+
+            Integer existing = offsets.get(string);
+            if (Objects.nonNull(existing)) {
+                return existing;
+            }
+
+            byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+            int lengthSize = lengthSize(utf8.length);
+            ensureCapacity(lengthSize + utf8.length);
+
+            int offset = baseSize + size;
+            if (lengthSize == 1) {
+                bytes[size++] = (byte) utf8.length;
+            } else {
+                int length = utf8.length | Integer.MIN_VALUE;
+                bytes[size++] = (byte) (length >>> 24);
+                bytes[size++] = (byte) (length >>> 16);
+                bytes[size++] = (byte) (length >>> 8);
+                bytes[size++] = (byte) length;
+            }
+
+            System.arraycopy(utf8, 0, bytes, size, utf8.length);
+            size += utf8.length;
+
+            offsets.put(string, offset);
+            return offset;
+        }
+
+        /**
+         * Exact only if there isn't a base arena.
+         */
+        int distinctStrings() {
+            return offsets.size();
+        }
+
+        int arenaSize() {
+            return baseSize + size;
+        }
+
+        /**
+         * Appends the strings into the spare capacity of the base arena. If it can't, a new arena is allocated: twice as large as the base,
+         * or with a quarter of spare capacity for the merges if there isn't a base.
+         *
+         * @return arena of the written strings.
+         */
+        SharedArena write() {
+            if (Objects.nonNull(base) && base.append(baseSize, ByteBuffer.wrap(bytes, 0, size))) {
+                return base;
+            }
+
+            long required = arenaSize();
+            long capacity = Objects.isNull(base) ? required + required / 4 : Math.max(required, 2L * base.capacity());
+            SharedArena arena = new SharedArena((int) Math.min(capacity, MAX_ARENA_BYTES));
+
+            if (Objects.nonNull(base)) {
+                arena.append(0, base.view(baseSize));
+            }
+            arena.append(baseSize, ByteBuffer.wrap(bytes, 0, size));
+
+            return arena;
+        }
+
+        private void ensureCapacity(int additional) {
+            if (size + additional > bytes.length) {
+                long capacity = Math.max((long) bytes.length * 2, (long) size + additional);
+
+                if (baseSize + capacity > MAX_ARENA_BYTES) {
+                    throw new IllegalStateException("Compact translation store can't be larger than 2 GB.");
+                }
+
+                bytes = Arrays.copyOf(bytes, (int) capacity);
+            }
+        }
+    }
+
+    /**
+     * Off-heap strings, only appended to. A store reads up to its own size, so a merged store can append past it while the older one is read.
+     */
+    private static final class SharedArena {
+        private final ByteBuffer buffer;
+        /* End of the appended strings. */
+        private int size;
+
+        SharedArena(int capacity) {
+            this.buffer = ByteBuffer.allocateDirect(Math.max(1, capacity));
+        }
+
+        /**
+         * Appends the bytes if they fit and the arena ends where the writer has started, otherwise another store has appended to it first.
+         *
+         * @return false if nothing is appended.
+         */
+        synchronized boolean append(int position, ByteBuffer bytes) {
+            if (position != size || buffer.capacity() - size < bytes.remaining()) {
+                return false;
+            }
+
+            ByteBuffer target = buffer.duplicate();
+            target.position(size);
+            target.put(bytes);
+            size = target.position();
+
+            return true;
+        }
+
+        ByteBuffer view(int limit) {
+            ByteBuffer view = buffer.asReadOnlyBuffer();
+            view.limit(limit);
+
+            return view;
+        }
+
+        int capacity() {
+            return buffer.capacity();
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs the lookups with a deadline behind a circuit breaker, so a slow database can't block the request threads.
+ * The query runs on a small bounded pool and the request thread waits only until the deadline.
+ * When the lookup fails or the breaker is open, the last-known values of the definitions are returned, if there are.
+ * The last-known values are bounded like the cache, the least recently used ones are evicted, so the hot definitions are always kept.
+ */
+@Slf4j
+class GuardedTranslationLookup {
+    private final Function<List<TranslationKey>, Map<TranslationKey, Optional<Translation>>> query;
+    private final long deadlineNanos;
+    private final ThreadPoolExecutor lookupExecutor;
+    private final ScheduledExecutorService probeScheduler;
+    private final TranslationCircuitBreaker circuitBreaker;
+    private final Cache<TranslationKey, Optional<Translation>> lastKnownTranslations;
+
+    /* The probe repeats the last failed lookup. */
+    private volatile List<TranslationKey> lastFailedKeys;
+
+    GuardedTranslationLookup(Function<List<TranslationKey>, Map<TranslationKey, Optional<Translation>>> query,
+                             ExceptionHandlerPropertiesReader.Resilience resilience, long lastKnownLimit) {
+        this.query = query;
+        this.deadlineNanos = resilience.getDeadline().toNanos();
+        this.lastKnownTranslations = Caffeine.newBuilder()
+            .maximumSize(lastKnownLimit)
+            .expireAfterAccess(resilience.getLastKnownTimeToIdle())
+            .build();
+
+        AtomicInteger threadCount = new AtomicInteger();
+        this.lookupExecutor = new ThreadPoolExecutor(resilience.getLookupThreads(), resilience.getLookupThreads(),
+            0L, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(resilience.getLookupQueueSize()),
+            runnable -> daemonThread(runnable, "GEH-lookup-" + threadCount.incrementAndGet()));
+
+        this.probeScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> daemonThread(runnable, "GEH-circuit-breaker"));
+        this.circuitBreaker = new TranslationCircuitBreaker(resilience.getFailureThreshold(), resilience.getOpenDuration(),
+            probeScheduler, this::probe);
+    }
+
+    /**
+     * Looks up the definitions within the deadline.
+     *
+     * @param keys definition keys.
+     * @return the definitions, or the last-known ones if the database can't answer. Keys without a last-known value aren't in the map.
+     */
+    Map<TranslationKey, Optional<Translation>> lookup(List<TranslationKey> keys) {
+        if (!circuitBreaker.allowsRequest()) {
+            return lastKnown(keys);
+        }
+
+        try {
+            Map<TranslationKey, Optional<Translation>> translations = queryWithDeadline(keys);
+
+            circuitBreaker.onSuccess();
+            translations.forEach(this::remember);
+
+            return translations;
+        } catch (TranslationUnavailableException ex) {
+            log.debug("--- Api Translations Service's lookup failed: {}", ex.getMessage());
+
+            lastFailedKeys = keys;
+            circuitBreaker.onFailure();
+
+            return lastKnown(keys);
+        }
+    }
+
+    void shutdown() {
+        probeScheduler.shutdownNow();
+        lookupExecutor.shutdownNow();
+    }
+
+    private Map<TranslationKey, Optional<Translation>> queryWithDeadline(List<TranslationKey> keys) {
+        Future<Map<TranslationKey, Optional<Translation>>> future;
+
+        try {
+            future = lookupExecutor.submit(() -> query.apply(keys));
+        } catch (RejectedExecutionException ex) {
+            throw new TranslationUnavailableException("Lookup queue is full.", ex);
+        }
+
+        try {
+            return future.get(deadlineNanos, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            future.cancel(true);
+            throw new TranslationUnavailableException("Lookup exceeded the deadline.", ex);
+        } catch (ExecutionException ex) {
+            throw new TranslationUnavailableException("Lookup failed.", ex.getCause());
+        } catch (InterruptedException ex) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new TranslationUnavailableException("Lookup is interrupted.", ex);
+        }
+    }
+
+    private void probe() {
+        List<TranslationKey> keys = lastFailedKeys;
+
+        if (Objects.nonNull(keys)) {
+            queryWithDeadline(keys).forEach(this::remember);
+        }
+    }
+
+    private void remember(TranslationKey key, Optional<Translation> translation) {
+        lastKnownTranslations.put(key, translation);
+    }
+
+    private Map<TranslationKey, Optional<Translation>> lastKnown(List<TranslationKey> keys) {
+        return new HashMap<>(lastKnownTranslations.getAllPresent(keys));
+    }
+
+    private static Thread daemonThread(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
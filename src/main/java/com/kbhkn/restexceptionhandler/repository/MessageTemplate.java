@@ -0,0 +1,136 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Compiled form of a translated exception message. It is immutable, so it can be shared between threads.
+ * Patterns that have only {0},...{N} placeholders are split into literals and argument indexes once and rendered in one pass.
+ * Quotes are literal in the messages, like the MessageFormat with the escaped quotes.
+ * Other patterns, i.e. {0,number}, are rendered by the MessageFormat as before.
+ */
+final class MessageTemplate {
+    /* Same limit with the MessageFormat. */
+    private static final int MAX_ARGUMENT_INDEX = 10_000;
+
+    private final String[] literals;
+    private final int[] argumentIndexes;
+    private final int literalsLength;
+
+    /* Not null, if the pattern can't be compiled. */
+    private final String messageFormatPattern;
+
+    private MessageTemplate(String[] literals, int[] argumentIndexes, String messageFormatPattern) {
+        this.literals = literals;
+        this.argumentIndexes = argumentIndexes;
+        this.messageFormatPattern = messageFormatPattern;
+
+        int length = 0;
+        if (Objects.nonNull(literals)) {
+            for (String literal : literals) {
+                length += literal.length();
+            }
+        }
+        this.literalsLength = length;
+    }
+
+    /**
+     * Compiles the message.
+     *
+     * @param message translated message, i.e. "{0} numaralı TCKN hatalıdır!"
+     * @return compiled template.
+     */
+    static MessageTemplate compile(String message) {
+        List<String> literals = new ArrayList<>();
+        List<Integer> argumentIndexes = new ArrayList<>();
+
+        StringBuilder literal = new StringBuilder();
+        int position = 0;
+
+        while (position < message.length()) {
+            char ch = message.charAt(position);
+
+            if (ch != '{') {
+                literal.append(ch);
+                position++;
+                continue;
+            }
+
+            int end = message.indexOf('}', position);
+            int argumentIndex = end < 0 ? -1 : parseArgumentIndex(message, position + 1, end);
+
+            if (argumentIndex < 0) {
+                return new MessageTemplate(null, null, message.replace("'", "''"));
+            }
+
+            literals.add(literal.toString());
+            argumentIndexes.add(argumentIndex);
+            literal.setLength(0);
+            position = end + 1;
+        }
+
+        literals.add(literal.toString());
+
+        return new MessageTemplate(literals.toArray(new String[0]),
+            argumentIndexes.stream().mapToInt(Integer::intValue).toArray(), null);
+    }
+
+    /**
+     * Replaces {0},...{N} with the parameters. Missing parameters stay as {N}.
+     *
+     * @param params message parameters.
+     * @return formatted message.
+     */
+    String render(List<String> params) {
+        if (Objects.nonNull(messageFormatPattern)) {
+            return MessageFormat.format(messageFormatPattern, params.toArray());
+        }
+
+        StringBuilder message = new StringBuilder(literalsLength + argumentIndexes.length * 16);
+        message.append(literals[0]);
+
+        for (int i = 0; i < argumentIndexes.length; i++) {
+            int argumentIndex = argumentIndexes[i];
+
+            if (argumentIndex < params.size()) {
+                message.append(params.get(argumentIndex));
+            } else {
+                message.append('{').append(argumentIndex).append('}');
+            }
+
+            message.append(literals[i + 1]);
+        }
+
+        return message.toString();
+    }
+
+    /**
+     * Parses the digits between the braces.
+     *
+     * @return argument index, -1 if it isn't a plain argument index.
+     */
+    private static int parseArgumentIndex(String message, int start, int end) {
+        if (start == end) {
+            return -1;
+        }
+
+        int argumentIndex = 0;
+        for (int i = start; i < end; i++) {
+            char ch = message.charAt(i);
+
+            if (ch < '0' || ch > '9') {
+                return -1;
+            }
+
+            argumentIndex = argumentIndex * 10 + (ch - '0');
+
+            if (argumentIndex >= MAX_ARGUMENT_INDEX) {
+                return -1;
+            }
+        }
+
+        return argumentIndex;
+    }
+}
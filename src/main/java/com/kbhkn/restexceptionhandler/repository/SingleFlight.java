@@ -0,0 +1,106 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Coalesces the concurrent loads of the same keys. The first caller of a key loads it, the others wait for that load and share its result.
+ * A caller loads all keys it owns with one call, then waits for the keys owned by the others, so the callers can't wait for each other.
+ * Nothing is kept after a load is completed, it isn't a cache.
+ *
+ * @param <K> key.
+ * @param <V> loaded value.
+ */
+final class SingleFlight<K, V> {
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Loads the keys, or joins the loads in flight.
+     *
+     * @param keys   keys to load.
+     * @param loader loads the owned keys at once, a key which isn't in its result isn't in the result of the callers either.
+     * @return loaded values of the keys.
+     */
+    Map<K, V> load(List<K> keys, Function<List<K>, Map<K, V>> loader) {
+        Map<K, CompletableFuture<V>> owned = new HashMap<>();
+        Map<K, CompletableFuture<V>> joined = new HashMap<>();
+
+        for (K key : keys) {
+            CompletableFuture<V> flight = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, flight);
+
+            if (Objects.isNull(existing)) {
+                owned.put(key, flight);
+            } else if (!owned.containsKey(key)) {
+                joined.put(key, existing);
+            }
+        }
+
+        Map<K, V> values = new HashMap<>();
+
+        if (!owned.isEmpty()) {
+            values.putAll(loadOwned(owned, loader));
+        }
+
+        joined.forEach((key, flight) -> {
+            V value = join(flight);
+
+            if (Objects.nonNull(value)) {
+                values.put(key, value);
+            }
+        });
+
+        return values;
+    }
+
+    /**
+     * Number of keys being loaded now.
+     *
+     * @return in flight key count.
+     */
+    int size() {
+        return inFlight.size();
+    }
+
+    private Map<K, V> loadOwned(Map<K, CompletableFuture<V>> owned, Function<List<K>, Map<K, V>> loader) {
+        Map<K, V> loaded;
+
+        try {
+            loaded = loader.apply(new ArrayList<>(owned.keySet()));
+        } catch (RuntimeException | Error ex) {
+            owned.forEach((key, flight) -> {
+                flight.completeExceptionally(ex);
+                inFlight.remove(key, flight);
+            });
+
+            throw ex;
+        }
+
+        // Completed before they are removed, so a caller which has just joined doesn't start another load.
+        owned.forEach((key, flight) -> {
+            flight.complete(loaded.get(key));
+            inFlight.remove(key, flight);
+        });
+
+        return loaded;
+    }
+
+    private V join(CompletableFuture<V> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            }
+
+            throw ex;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.util.List;
+import java.util.Objects;
+import lombok.Getter;
+
+/**
+ * Value of a definition in the api_translations table.
+ * The message template is compiled with the first formatting and kept next to the value, so it is cached with it.
+ */
+public final class Translation {
+    @Getter
+    private final String value;
+
+    /* Compiled lazily. Two threads could compile it at the same time, both results are the same. */
+    private volatile MessageTemplate template;
+
+    Translation(String value) {
+        this.value = value;
+    }
+
+    /**
+     * Replaces {0},...{N} in the value with the parameters.
+     *
+     * @param params message parameters, could be null.
+     * @return the value itself, if there is no parameter, otherwise the formatted value.
+     */
+    public String format(List<String> params) {
+        if (Objects.isNull(params) || params.isEmpty()) {
+            return value;
+        }
+
+        MessageTemplate compiledTemplate = template;
+        if (Objects.isNull(compiledTemplate)) {
+            compiledTemplate = MessageTemplate.compile(value);
+            template = compiledTemplate;
+        }
+
+        return compiledTemplate.render(params);
+    }
+}
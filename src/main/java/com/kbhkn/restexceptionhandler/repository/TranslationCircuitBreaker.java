@@ -0,0 +1,78 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.time.Duration;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Circuit breaker in front of the translation lookups.
+ * It opens after the consecutive failures, then requests are answered without touching the database.
+ * While it is open, the probe runs in the background (half-open) after each open duration, and a successful probe closes it.
+ */
+@Slf4j
+class TranslationCircuitBreaker {
+    enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final AtomicReference<State> state = new AtomicReference<>(State.CLOSED);
+    private final AtomicInteger consecutiveFailures = new AtomicInteger();
+    private final int failureThreshold;
+    private final long openDurationMillis;
+    private final ScheduledExecutorService scheduler;
+    private final Runnable probe;
+
+    TranslationCircuitBreaker(int failureThreshold, Duration openDuration, ScheduledExecutorService scheduler, Runnable probe) {
+        this.failureThreshold = failureThreshold;
+        this.openDurationMillis = openDuration.toMillis();
+        this.scheduler = scheduler;
+        this.probe = probe;
+    }
+
+    /**
+     * Requests pass only if the breaker is closed. The half-open state is used only by the background probe.
+     */
+    boolean allowsRequest() {
+        return state.get() == State.CLOSED;
+    }
+
+    State getState() {
+        return state.get();
+    }
+
+    void onSuccess() {
+        consecutiveFailures.set(0);
+    }
+
+    void onFailure() {
+        if (consecutiveFailures.incrementAndGet() >= failureThreshold && state.compareAndSet(State.CLOSED, State.OPEN)) {
+            log.error("--- Api Translations Service's circuit breaker is opened after {} consecutive failures.", failureThreshold);
+
+            scheduleProbe();
+        }
+    }
+
+    private void scheduleProbe() {
+        scheduler.schedule(this::runProbe, openDurationMillis, TimeUnit.MILLISECONDS);
+    }
+
+    private void runProbe() {
+        state.set(State.HALF_OPEN);
+
+        try {
+            probe.run();
+
+            consecutiveFailures.set(0);
+            state.set(State.CLOSED);
+
+            log.info("--- Api Translations Service's circuit breaker is closed, the probe succeeded.");
+        } catch (RuntimeException ex) {
+            state.set(State.OPEN);
+
+            log.warn("--- Api Translations Service's circuit breaker stays open, the probe failed: {}", ex.getMessage());
+
+            scheduleProbe();
+        }
+    }
+}
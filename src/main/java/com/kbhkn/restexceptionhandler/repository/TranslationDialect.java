@@ -0,0 +1,72 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Locale;
+import java.util.Objects;
+
+/**
+ * Row limiting syntax of the databases. It is detected once from the JDBC metadata, then the single row query is built once.
+ */
+enum TranslationDialect {
+    /* Oracle 12c and later, H2, DB2, Derby and the other ANSI databases. */
+    FETCH_FIRST {
+        @Override
+        String singleRowQuery(String columns, String table, String conditions) {
+            return "select " + columns + " from " + table + " where " + conditions + " fetch first 1 rows only";
+        }
+    },
+    /* PostgreSQL, MySQL, MariaDB and SQLite. */
+    LIMIT {
+        @Override
+        String singleRowQuery(String columns, String table, String conditions) {
+            return "select " + columns + " from " + table + " where " + conditions + " limit 1";
+        }
+    },
+    /* Microsoft SQL Server and Sybase. */
+    TOP {
+        @Override
+        String singleRowQuery(String columns, String table, String conditions) {
+            return "select top 1 " + columns + " from " + table + " where " + conditions;
+        }
+    },
+    /* Oracle before 12c. */
+    ROWNUM {
+        @Override
+        String singleRowQuery(String columns, String table, String conditions) {
+            return "select " + columns + " from " + table + " where " + conditions + " and rownum < 2";
+        }
+    };
+
+    /**
+     * Builds the query which returns the first row of the conditions.
+     *
+     * @param columns    selected columns.
+     * @param table      schema qualified table.
+     * @param conditions where conditions.
+     * @return sql.
+     */
+    abstract String singleRowQuery(String columns, String table, String conditions);
+
+    /**
+     * Detects the dialect of the database.
+     *
+     * @param metaData metadata of a connection.
+     * @return dialect, FETCH_FIRST if the database isn't known.
+     * @throws SQLException if the metadata can't be read.
+     */
+    static TranslationDialect of(DatabaseMetaData metaData) throws SQLException {
+        String productName = Objects.toString(metaData.getDatabaseProductName(), "").toLowerCase(Locale.ROOT);
+
+        if (productName.contains("oracle")) {
+            return metaData.getDatabaseMajorVersion() >= 12 ? FETCH_FIRST : ROWNUM;
+        } else if (productName.contains("postgres") || productName.contains("mysql")
+            || productName.contains("mariadb") || productName.contains("sqlite")) {
+            return LIMIT;
+        } else if (productName.contains("sql server") || productName.contains("sybase") || productName.contains("adaptive server")) {
+            return TOP;
+        }
+
+        return FETCH_FIRST;
+    }
+}
@@ -0,0 +1,32 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.util.Locale;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Value;
+
+/**
+ * Composite key of a row in the api_translations table.
+ * Locale is kept upper-case, because the definitions are stored like TR, EN, IT etc.
+ */
+@Value
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class TranslationKey {
+    String application;
+    String module;
+    String code;
+    String locale;
+
+    /**
+     * Creates a key for the given definition.
+     *
+     * @param application which application?
+     * @param module      which module of application?
+     * @param code        error code.
+     * @param locale      which lang? TR, ENG, IT etc.
+     * @return key of the definition.
+     */
+    public static TranslationKey of(String application, String module, String code, String locale) {
+        return new TranslationKey(application, module, code, locale.toUpperCase(Locale.ROOT));
+    }
+}
@@ -0,0 +1,79 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.util.Objects;
+import java.util.Optional;
+import lombok.Getter;
+
+/**
+ * Result of a definition lookup; found with its value, not found in the api_translations table, or unavailable,
+ * i.e. the database couldn't answer in time, so it isn't known whether the definition exists.
+ */
+public final class TranslationResult {
+    private static final TranslationResult NOT_FOUND = new TranslationResult(Status.NOT_FOUND, null);
+    private static final TranslationResult UNAVAILABLE = new TranslationResult(Status.UNAVAILABLE, null);
+
+    @Getter
+    private final Status status;
+    private final Translation translation;
+
+    private TranslationResult(Status status, Translation translation) {
+        this.status = status;
+        this.translation = translation;
+    }
+
+    public static TranslationResult found(Translation translation) {
+        return new TranslationResult(Status.FOUND, Objects.requireNonNull(translation));
+    }
+
+    public static TranslationResult notFound() {
+        return NOT_FOUND;
+    }
+
+    public static TranslationResult unavailable() {
+        return UNAVAILABLE;
+    }
+
+    /**
+     * Converts a looked up definition, the lookups keep the not found ones as empty.
+     *
+     * @param translation looked up definition, null if it couldn't be looked up.
+     * @return result of the definition.
+     */
+    static TranslationResult of(Optional<Translation> translation) {
+        if (Objects.isNull(translation)) {
+            return UNAVAILABLE;
+        }
+
+        return translation.map(TranslationResult::found).orElse(NOT_FOUND);
+    }
+
+    public boolean isFound() {
+        return status == Status.FOUND;
+    }
+
+    public boolean isNotFound() {
+        return status == Status.NOT_FOUND;
+    }
+
+    public boolean isUnavailable() {
+        return status == Status.UNAVAILABLE;
+    }
+
+    /**
+     * The found definition.
+     *
+     * @return definition of a found result.
+     * @throws IllegalStateException if the definition isn't found.
+     */
+    public Translation getTranslation() {
+        if (Objects.isNull(translation)) {
+            throw new IllegalStateException("Definition isn't found, status: " + status);
+        }
+
+        return translation;
+    }
+
+    public enum Status {
+        FOUND, NOT_FOUND, UNAVAILABLE
+    }
+}
@@ -0,0 +1,196 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import lombok.Getter;
+
+/**
+ * Immutable index of the whole "EX" definitions of a schema.
+ * It is never changed after creation, a refresh creates a new one, so it can be read without any lock.
+ * If it is compact, the definitions are kept in a {@link CompactTranslationStore} instead of the on-heap map.
+ */
+final class TranslationSnapshot {
+    /* One of them is null. */
+    private final Map<TranslationKey, Translation> translations;
+    private final CompactTranslationStore compactStore;
+    private final Set<String> locales;
+
+    /* The greatest watermark column value of the loaded rows, null if the watermark column isn't used. */
+    @Getter
+    private final Comparable<Object> watermark;
+
+    private TranslationSnapshot(Map<TranslationKey, Translation> translations, Comparable<Object> watermark) {
+        this.translations = Collections.unmodifiableMap(translations);
+        this.compactStore = null;
+        this.locales = translations.keySet().stream()
+            .map(TranslationKey::getLocale)
+            .collect(Collectors.toUnmodifiableSet());
+        this.watermark = watermark;
+    }
+
+    private TranslationSnapshot(CompactTranslationStore compactStore, Comparable<Object> watermark) {
+        this.translations = null;
+        this.compactStore = compactStore;
+        this.locales = Set.copyOf(compactStore.locales());
+        this.watermark = watermark;
+    }
+
+    Optional<Translation> find(TranslationKey key) {
+        if (Objects.nonNull(compactStore)) {
+            return Optional.ofNullable(compactStore.find(key));
+        }
+
+        return Optional.ofNullable(translations.get(key));
+    }
+
+    /**
+     * Distinct locales of the definitions.
+     *
+     * @return upper-case locales.
+     */
+    Set<String> locales() {
+        return locales;
+    }
+
+    /**
+     * Passes each definition value, i.e. to persist them. A compact snapshot is decoded one definition at a time, it isn't copied into a map.
+     *
+     * @param consumer receives the key and the value of each definition.
+     */
+    void forEach(BiConsumer<TranslationKey, String> consumer) {
+        if (Objects.nonNull(compactStore)) {
+            compactStore.forEach(consumer);
+        } else {
+            translations.forEach((key, translation) -> consumer.accept(key, translation.getValue()));
+        }
+    }
+
+    int size() {
+        return Objects.nonNull(compactStore) ? compactStore.size() : translations.size();
+    }
+
+    /**
+     * Off-heap bytes of the compact store.
+     *
+     * @return bytes, 0 if it isn't compact.
+     */
+    long offHeapBytes() {
+        return Objects.nonNull(compactStore) ? compactStore.offHeapBytes() : 0;
+    }
+
+    /**
+     * On-heap bytes of the primitive index of the compact store.
+     *
+     * @return bytes, 0 if it isn't compact.
+     */
+    long indexBytes() {
+        return Objects.nonNull(compactStore) ? compactStore.indexBytes() : 0;
+    }
+
+    /**
+     * Distinct strings of the compact store.
+     *
+     * @return count, 0 if it isn't compact.
+     */
+    int distinctStrings() {
+        return Objects.nonNull(compactStore) ? compactStore.distinctStrings() : 0;
+    }
+
+    /**
+     * Starts a full snapshot.
+     *
+     * @param compact if it is true, the definitions are kept in a compact store.
+     * @return empty builder.
+     */
+    static Builder builder(boolean compact) {
+        return compact ? new Builder(null, null, new HashMap<>(), null) : new Builder(new HashMap<>(), null, null, null);
+    }
+
+    /**
+     * Starts a snapshot from this one, the changed rows override the existing definitions.
+     * A compact snapshot only collects the changed rows, they are merged into its store by {@link CompactTranslationStore#merge(Map)}.
+     * If none of the rows changes a definition or the watermark, the builder builds this snapshot again.
+     *
+     * @return builder that contains the definitions of this snapshot.
+     */
+    Builder toBuilder() {
+        if (Objects.nonNull(compactStore)) {
+            return new Builder(null, this, new HashMap<>(), watermark);
+        }
+
+        return new Builder(new HashMap<>(translations), this, null, watermark);
+    }
+
+    static final class Builder {
+        /* Definitions of a plain snapshot, null if it is compact. */
+        private final Map<TranslationKey, Translation> translations;
+        /* Snapshot which the rows are applied to, null if it is a full load. */
+        private final TranslationSnapshot base;
+        /* Rows of a compact snapshot, null if it is plain. */
+        private final Map<TranslationKey, String> compactRows;
+        private Comparable<Object> watermark;
+        /* Whether a row of a plain snapshot has added or changed a definition of the base. */
+        private boolean changed;
+
+        private Builder(Map<TranslationKey, Translation> translations, TranslationSnapshot base,
+                        Map<TranslationKey, String> compactRows, Comparable<Object> watermark) {
+            this.translations = translations;
+            this.base = base;
+            this.compactRows = compactRows;
+            this.watermark = watermark;
+        }
+
+        Builder put(TranslationKey key, String value) {
+            if (Objects.nonNull(compactRows)) {
+                compactRows.put(key, value);
+                return this;
+            }
+
+            // An unchanged definition keeps its translation, so its compiled template isn't lost.
+            Translation existing = translations.get(key);
+            if (Objects.isNull(existing) || !Objects.equals(existing.getValue(), value)) {
+                translations.put(key, new Translation(value));
+                changed = true;
+            }
+            return this;
+        }
+
+        @SuppressWarnings("unchecked")
+        Builder watermark(Object rowWatermark) {
+            if (rowWatermark instanceof Comparable
+                && (watermark == null || watermark.compareTo(rowWatermark) < 0)) {
+                watermark = (Comparable<Object>) rowWatermark;
+            }
+            return this;
+        }
+
+        /**
+         * Builds the snapshot.
+         *
+         * @return new snapshot, the base one if nothing has changed.
+         */
+        TranslationSnapshot build() {
+            if (Objects.isNull(compactRows)) {
+                return Objects.nonNull(base) && !changed && Objects.equals(base.watermark, watermark)
+                    ? base
+                    : new TranslationSnapshot(translations, watermark);
+            }
+
+            if (Objects.isNull(base)) {
+                return new TranslationSnapshot(CompactTranslationStore.of(compactRows), watermark);
+            }
+
+            CompactTranslationStore merged = base.compactStore.merge(compactRows);
+
+            return merged == base.compactStore && Objects.equals(base.watermark, watermark)
+                ? base
+                : new TranslationSnapshot(merged, watermark);
+        }
+    }
+}
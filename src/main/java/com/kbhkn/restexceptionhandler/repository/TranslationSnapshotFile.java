@@ -0,0 +1,255 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.zip.CRC32;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Found definitions on the local disk, so a restarted instance serves the lookups before the database is reached.
+ * The file is versioned and checksummed; a file of another format version or schema, a corrupt one or an older one than the max age is discarded.
+ * <pre>
+ * header:  magic(int) formatVersion(short) createdAt(long) payloadLength(int) payloadCrc32(long)
+ * payload: schemaName(string) stringCount(int) strings(string...) entryCount(int) entries(application, module, code, locale, value as string indexes)
+ * string:  length(int) utf-8 bytes, the length of a null string is -1 without bytes
+ * </pre>
+ * Application, module and locale repeat in most of the rows, each distinct string is stored once.
+ */
+@Slf4j
+final class TranslationSnapshotFile {
+    private static final int MAGIC = 0x47454853;
+    private static final short FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = Integer.BYTES + Short.BYTES + Long.BYTES + Integer.BYTES + Long.BYTES;
+    private static final int NULL_LENGTH = -1;
+
+    private final Path path;
+    private final String schemaName;
+    private final long maxAgeMillis;
+
+    TranslationSnapshotFile(Path path, String schemaName, Duration maxAge) {
+        this.path = path;
+        this.schemaName = schemaName;
+        this.maxAgeMillis = maxAge.toMillis();
+    }
+
+    /**
+     * Reads the file once with plain IO. It is decoded into the definitions and its bytes aren't kept,
+     * a mapping wouldn't be released until it is collected, while the file is replaced by each write.
+     *
+     * @return found definitions of the file, empty if there isn't a valid one.
+     */
+    Optional<Map<TranslationKey, String>> read() {
+        if (!Files.isRegularFile(path)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.ofNullable(parse(ByteBuffer.wrap(Files.readAllBytes(path))));
+        } catch (IOException | RuntimeException ex) {
+            log.warn("--- Api Translations Service's snapshot file is discarded, it can't be read: {}", path, ex);
+
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Replaces the file atomically, a reader never sees a partially written file.
+     *
+     * @param translations found definitions.
+     */
+    void write(Map<TranslationKey, String> translations) {
+        write(translations.size(), translations::forEach);
+    }
+
+    /**
+     * Replaces the file with the definitions of the snapshot, they are encoded one at a time without copying the snapshot.
+     *
+     * @param snapshot loaded snapshot.
+     */
+    void write(TranslationSnapshot snapshot) {
+        write(snapshot.size(), snapshot::forEach);
+    }
+
+    private void write(int size, Consumer<BiConsumer<TranslationKey, String>> translations) {
+        try {
+            byte[] payload = encodePayload(size, translations);
+
+            CRC32 crc = new CRC32();
+            crc.update(payload);
+
+            Path directory = Objects.requireNonNullElse(path.toAbsolutePath().getParent(), path.toAbsolutePath());
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, path.getFileName().toString(), ".tmp");
+
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeShort(FORMAT_VERSION);
+                output.writeLong(System.currentTimeMillis());
+                output.writeInt(payload.length);
+                output.writeLong(crc.getValue());
+                output.write(payload);
+            }
+
+            moveAtomically(temporary);
+
+            log.info("--- Api Translations Service's snapshot file is written. Definitions: {}, Size: {} bytes, File: {}",
+                size, HEADER_SIZE + payload.length, path);
+        } catch (IOException | RuntimeException ex) {
+            log.warn("--- Api Translations Service's snapshot file couldn't be written: {}", path, ex);
+        }
+    }
+
+    private Map<TranslationKey, String> parse(ByteBuffer buffer) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, it isn't a snapshot file: {}", path);
+                return null;
+            }
+
+            short formatVersion = buffer.getShort();
+            if (formatVersion != FORMAT_VERSION) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, format version {} isn't supported: {}", formatVersion, path);
+                return null;
+            }
+
+            long age = System.currentTimeMillis() - buffer.getLong();
+            if (age > maxAgeMillis || age < 0) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, it is stale. Age: {} ms, File: {}", age, path);
+                return null;
+            }
+
+            int payloadLength = buffer.getInt();
+            long expectedCrc = buffer.getLong();
+
+            if (payloadLength != buffer.remaining()) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, it is truncated: {}", path);
+                return null;
+            }
+
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate());
+            if (crc.getValue() != expectedCrc) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, checksum doesn't match: {}", path);
+                return null;
+            }
+
+            if (!schemaName.equals(readString(buffer))) {
+                log.warn("--- Api Translations Service's snapshot file is discarded, it belongs to another schema: {}", path);
+                return null;
+            }
+
+            String[] strings = new String[buffer.getInt()];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = readString(buffer);
+            }
+
+            int entryCount = buffer.getInt();
+            Map<TranslationKey, String> translations = new HashMap<>(Math.max(16, entryCount * 4 / 3 + 1));
+
+            for (int i = 0; i < entryCount; i++) {
+                TranslationKey key = TranslationKey.of(strings[buffer.getInt()], strings[buffer.getInt()],
+                    strings[buffer.getInt()], strings[buffer.getInt()]);
+                translations.put(key, strings[buffer.getInt()]);
+            }
+
+            return translations;
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException ex) {
+            log.warn("--- Api Translations Service's snapshot file is discarded, it is corrupt: {}", path);
+            return null;
+        }
+    }
+
+    private byte[] encodePayload(int size, Consumer<BiConsumer<TranslationKey, String>> translations) throws IOException {
+        Map<String, Integer> indexes = new LinkedHashMap<>();
+        List<int[]> entries = new ArrayList<>(size);
+
+        translations.accept((key, value) -> entries.add(new int[]{
+            indexOf(indexes, key.getApplication()),
+            indexOf(indexes, key.getModule()),
+            indexOf(indexes, key.getCode()),
+            indexOf(indexes, key.getLocale()),
+            indexOf(indexes, value)
+        }));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+
+        try (DataOutputStream output = new DataOutputStream(bytes)) {
+            writeString(output, schemaName);
+
+            output.writeInt(indexes.size());
+            for (String string : indexes.keySet()) {
+                writeString(output, string);
+            }
+
+            output.writeInt(entries.size());
+            for (int[] entry : entries) {
+                for (int index : entry) {
+                    output.writeInt(index);
+                }
+            }
+        }
+
+        return bytes.toByteArray();
+    }
+
+    private void moveAtomically(Path temporary) throws IOException {
+        try {
+            Files.move(temporary, path, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException ex) {
+            Files.deleteIfExists(temporary);
+            throw ex;
+        }
+    }
+
+    private static int indexOf(Map<String, Integer> indexes, String string) {
+        return indexes.computeIfAbsent(string, added -> indexes.size());
+    }
+
+    private static void writeString(DataOutputStream output, String string) throws IOException {
+        // The value column is nullable, a null value is written as it is found.
+        if (Objects.isNull(string)) {
+            output.writeInt(NULL_LENGTH);
+            return;
+        }
+
+        byte[] utf8 = string.getBytes(StandardCharsets.UTF_8);
+
+        output.writeInt(utf8.length);
+        output.write(utf8);
+    }
+
+    private static String readString(ByteBuffer buffer) {
+        int length = buffer.getInt();
+
+        if (length == NULL_LENGTH) {
+            return null;
+        }
+
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+
+        byte[] utf8 = new byte[length];
+        buffer.get(utf8);
+
+        return new String(utf8, StandardCharsets.UTF_8);
+    }
+}
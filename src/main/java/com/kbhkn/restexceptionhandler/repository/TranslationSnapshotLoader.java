@@ -0,0 +1,95 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+/**
+ * Loads "EX" definitions of the schema into a {@link TranslationSnapshot} with one streaming pass.
+ * If the watermark column is defined, the next loads only pull the rows changed since the previous one.
+ * The deltas can't see the deleted rows, so a full load is made again with the full refresh interval.
+ */
+@Slf4j
+class TranslationSnapshotLoader {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String fullLoadSql;
+    private final String deltaLoadSql;
+    private final String watermarkColumn;
+    private final boolean compact;
+    private final long fullRefreshIntervalNanos;
+
+    /* Only the refresher loads, after the first load of the startup. */
+    private long lastFullLoadAt;
+
+    TranslationSnapshotLoader(DataSource dataSource, ExceptionHandlerPropertiesReader propertiesReader) {
+        ExceptionHandlerPropertiesReader.Snapshot snapshotProperties = propertiesReader.getSnapshot();
+
+        // Separate template, the fetch size of the single row lookups shouldn't be changed.
+        JdbcTemplate streamingTemplate = new JdbcTemplate(dataSource);
+        streamingTemplate.setFetchSize(snapshotProperties.getFetchSize());
+
+        this.jdbcTemplate = new NamedParameterJdbcTemplate(streamingTemplate);
+        this.watermarkColumn = normalize(snapshotProperties.getWatermarkColumn());
+        this.compact = snapshotProperties.isCompact();
+        this.fullRefreshIntervalNanos = snapshotProperties.getFullRefreshInterval().toNanos();
+
+        String schema = propertiesReader.getDatasource().getSchemaName().toLowerCase(Locale.ROOT);
+        String columns = "application, module, code, locale, value"
+            + (Objects.isNull(watermarkColumn) ? "" : ", " + watermarkColumn);
+
+        this.fullLoadSql = "select " + columns + " from " + schema + ".api_translations where type = 'EX'";
+        this.deltaLoadSql = Objects.isNull(watermarkColumn)
+            ? null
+            : fullLoadSql + " and " + watermarkColumn + " >= :watermark";
+    }
+
+    /**
+     * Loads the definitions. Makes a full load when there is no snapshot or watermark, or the full refresh interval has passed,
+     * otherwise pulls only the changes. Rows that have the last watermark are pulled again, so the rows committed later in the same instant aren't lost.
+     *
+     * @param current the snapshot in use, could be null.
+     * @return new snapshot, the current one if a delta hasn't changed anything. The current one is never changed.
+     */
+    TranslationSnapshot load(TranslationSnapshot current) {
+        long startedAt = System.nanoTime();
+        boolean delta = Objects.nonNull(current) && Objects.nonNull(deltaLoadSql) && Objects.nonNull(current.getWatermark())
+            && startedAt - lastFullLoadAt < fullRefreshIntervalNanos;
+
+        TranslationSnapshot.Builder builder = delta ? current.toBuilder() : TranslationSnapshot.builder(compact);
+        String sql = delta ? deltaLoadSql : fullLoadSql;
+        Map<String, Object> parameters = delta ? Map.of("watermark", current.getWatermark()) : Map.of();
+
+        int[] rowCount = {0};
+
+        jdbcTemplate.query(sql, parameters, resultSet -> {
+            builder.put(TranslationKey.of(resultSet.getString("application"), resultSet.getString("module"),
+                resultSet.getString("code"), resultSet.getString("locale")), resultSet.getString("value"));
+
+            if (Objects.nonNull(watermarkColumn)) {
+                builder.watermark(resultSet.getObject(watermarkColumn));
+            }
+
+            rowCount[0]++;
+        });
+
+        TranslationSnapshot snapshot = builder.build();
+
+        if (!delta) {
+            lastFullLoadAt = startedAt;
+        }
+
+        log.info("--- Api Translations Service's snapshot ops. {} load pulled {} rows in {} ms, snapshot size: {}",
+            delta ? "Delta" : "Full", rowCount[0], (System.nanoTime() - startedAt) / 1_000_000, snapshot.size());
+
+        return snapshot;
+    }
+
+    private static String normalize(String column) {
+        return Objects.isNull(column) || column.trim().isEmpty() ? null : column.trim();
+    }
+}
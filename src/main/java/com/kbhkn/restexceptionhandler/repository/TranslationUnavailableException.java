@@ -0,0 +1,14 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+/**
+ * Thrown when a definition can't be looked up in time, or the circuit breaker is open, and there is no last-known value.
+ * It is thrown for each lookup during an outage, so it is created without the stack trace.
+ */
+public class TranslationUnavailableException extends RuntimeException {
+    /**
+     * Creates the exception with given data.
+     */
+    public TranslationUnavailableException(String message, Throwable cause) {
+        super(message, cause, false, false);
+    }
+}
@@ -0,0 +1,200 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import com.kbhkn.restexceptionhandler.metrics.ExceptionHandlerMetrics;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.slf4j.Logger;
+
+class ExceptionLogWriterTest {
+    private static final String DROPPED_EVENTS = "geh.log.events.dropped";
+
+    private final AtomicInteger written = new AtomicInteger();
+    private final CountDownLatch consumerEntered = new CountDownLatch(1);
+    private final CountDownLatch consumerReleased = new CountDownLatch(1);
+    private final Map<String, Supplier<Number>> gauges = new ConcurrentHashMap<>();
+    private final Logger logger = blockingLogger();
+
+    private ExceptionLogWriter writer;
+
+    @AfterEach
+    void stopWriter() {
+        consumerReleased.countDown();
+
+        if (Objects.nonNull(writer)) {
+            writer.destroy();
+        }
+    }
+
+    @Test
+    void dropsAndCountsTheEventsOfAFullBuffer() throws InterruptedException {
+        writer = newWriter(2, ExceptionHandlerPropertiesReader.Logging.OverflowPolicy.DROP);
+
+        holdTheConsumer();
+        for (int i = 0; i < 5; i++) {
+            writer.write(event());
+        }
+
+        assertThat(gauges.get(DROPPED_EVENTS).get()).isEqualTo(3L);
+
+        consumerReleased.countDown();
+        awaitUntil(() -> written.get() == 3);
+
+        assertThat(gauges.get(DROPPED_EVENTS).get()).isEqualTo(3L);
+    }
+
+    @Test
+    void blockedProducerContinuesWhenTheConsumerDrains() throws InterruptedException {
+        writer = newWriter(2, ExceptionHandlerPropertiesReader.Logging.OverflowPolicy.BLOCK);
+
+        holdTheConsumer();
+        writer.write(event());
+        writer.write(event());
+
+        Thread producer = new Thread(() -> writer.write(event()), "log-writer-producer");
+        producer.start();
+
+        awaitUntil(() -> producer.getState() == Thread.State.TIMED_WAITING);
+        assertThat(producer.isAlive()).isTrue();
+
+        consumerReleased.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(producer.isAlive()).isFalse();
+        awaitUntil(() -> written.get() == 4);
+        assertThat(gauges.get(DROPPED_EVENTS).get()).isEqualTo(0L);
+    }
+
+    @Test
+    void writesTheBufferedEventsBeforeDestroyReturns() throws InterruptedException {
+        writer = newWriter(8, ExceptionHandlerPropertiesReader.Logging.OverflowPolicy.DROP);
+
+        holdTheConsumer();
+        for (int i = 0; i < 5; i++) {
+            writer.write(event());
+        }
+
+        consumerReleased.countDown();
+        writer.destroy();
+
+        assertThat(written).hasValue(6);
+
+        // Once the consumer has stopped, the events are written on the calling thread.
+        writer.write(event());
+        assertThat(written).hasValue(7);
+    }
+
+    @Test
+    void writesTheEventOfferedAfterTheConsumerHasStopped() throws InterruptedException {
+        CountDownLatch producerChecked = new CountDownLatch(1);
+        CountDownLatch producerResumed = new CountDownLatch(1);
+        consumerReleased.countDown();
+
+        // The producer has seen the running writer, then it is descheduled until the consumer has stopped.
+        writer = new ExceptionLogWriter(properties(8, ExceptionHandlerPropertiesReader.Logging.OverflowPolicy.DROP), ExceptionHandlerMetrics.NOOP) {
+            @Override
+            ExceptionLogEvent withRequestContext(ExceptionLogEvent event) {
+                producerChecked.countDown();
+                awaitQuietly(producerResumed);
+                return super.withRequestContext(event);
+            }
+        };
+
+        Thread producer = new Thread(() -> writer.write(event()), "log-writer-producer");
+        producer.start();
+
+        assertThat(producerChecked.await(10, TimeUnit.SECONDS)).isTrue();
+        writer.destroy();
+        producerResumed.countDown();
+        producer.join(TimeUnit.SECONDS.toMillis(10));
+
+        assertThat(producer.isAlive()).isFalse();
+        assertThat(written).hasValue(1);
+    }
+
+    private ExceptionLogWriter newWriter(int bufferSize, ExceptionHandlerPropertiesReader.Logging.OverflowPolicy overflowPolicy) {
+        return new ExceptionLogWriter(properties(bufferSize, overflowPolicy), new ExceptionHandlerMetrics() {
+            @Override
+            public void gauge(String name, String description, Supplier<Number> value) {
+                gauges.put(name, value);
+            }
+        });
+    }
+
+    private static ExceptionHandlerPropertiesReader properties(int bufferSize,
+                                                               ExceptionHandlerPropertiesReader.Logging.OverflowPolicy overflowPolicy) {
+        ExceptionHandlerPropertiesReader properties = new ExceptionHandlerPropertiesReader() {
+        };
+        properties.getLogging().setAsynchronous(true);
+        properties.getLogging().setBufferSize(bufferSize);
+        properties.getLogging().setOverflowPolicy(overflowPolicy);
+
+        return properties;
+    }
+
+    /**
+     * Writes an event and waits until the consumer is blocked in it, so the buffer is empty and nothing drains it.
+     */
+    private void holdTheConsumer() throws InterruptedException {
+        writer.write(event());
+
+        assertThat(consumerEntered.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    private ExceptionLogEvent event() {
+        return ExceptionLogEvent.builder()
+                .logger(logger)
+                .decision(ExceptionLogPolicy.LogDecision.WITHOUT_STACK_TRACE)
+                .type("RestServiceException")
+                .requestId("request-id")
+                .api("api")
+                .module("module")
+                .code("code")
+                .desc("desc")
+                .build();
+    }
+
+    /**
+     * Counts the written events, the first one blocks its thread until the consumer is released.
+     */
+    private Logger blockingLogger() {
+        return Mockito.mock(Logger.class, invocation -> {
+            if ("error".equals(invocation.getMethod().getName())) {
+                if (written.incrementAndGet() == 1) {
+                    consumerEntered.countDown();
+                    consumerReleased.await(10, TimeUnit.SECONDS);
+                }
+            }
+
+            return null;
+        });
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).isLessThan(deadline);
+            Thread.sleep(1);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class MpscRingBufferTest {
+    private static final int PRODUCERS = 4;
+    private static final int ELEMENTS_PER_PRODUCER = 20_000;
+
+    @Test
+    void roundsTheCapacityUpToAPowerOfTwo() {
+        assertThat(new MpscRingBuffer<>(1).capacity()).isEqualTo(2);
+        assertThat(new MpscRingBuffer<>(5).capacity()).isEqualTo(8);
+        assertThat(new MpscRingBuffer<>(8).capacity()).isEqualTo(8);
+    }
+
+    @Test
+    void rejectsTheOfferOfAFullBufferUntilTheConsumerPolls() {
+        MpscRingBuffer<Integer> buffer = new MpscRingBuffer<>(4);
+
+        for (int i = 0; i < 4; i++) {
+            assertThat(buffer.offer(i)).isTrue();
+        }
+
+        assertThat(buffer.offer(4)).isFalse();
+        assertThat(buffer.poll()).isZero();
+        assertThat(buffer.offer(4)).isTrue();
+        assertThat(buffer.offer(5)).isFalse();
+
+        for (int i = 1; i <= 4; i++) {
+            assertThat(buffer.poll()).isEqualTo(i);
+        }
+
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+
+    @Test
+    void deliversEachElementOnceInTheOrderOfItsProducerAcrossManyLaps() throws InterruptedException {
+        MpscRingBuffer<Long> buffer = new MpscRingBuffer<>(16);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> producers = new ArrayList<>();
+
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            long first = (long) producer * ELEMENTS_PER_PRODUCER;
+
+            Thread thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+
+                for (long element = first; element < first + ELEMENTS_PER_PRODUCER; element++) {
+                    while (!buffer.offer(element)) {
+                        Thread.yield();
+                    }
+                }
+            }, "ring-buffer-producer-" + producer);
+
+            thread.setDaemon(true);
+            producers.add(thread);
+            thread.start();
+        }
+
+        start.countDown();
+
+        long[] next = new long[PRODUCERS];
+        for (int producer = 0; producer < PRODUCERS; producer++) {
+            next[producer] = (long) producer * ELEMENTS_PER_PRODUCER;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        int received = 0;
+
+        while (received < PRODUCERS * ELEMENTS_PER_PRODUCER) {
+            Long element = buffer.poll();
+
+            if (Objects.isNull(element)) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.yield();
+                continue;
+            }
+
+            int producer = (int) (element / ELEMENTS_PER_PRODUCER);
+            assertThat(element).isEqualTo(next[producer]);
+            next[producer]++;
+            received++;
+        }
+
+        for (Thread producer : producers) {
+            producer.join(TimeUnit.SECONDS.toMillis(10));
+        }
+
+        assertThat(buffer.poll()).isNull();
+        assertThat(buffer.isEmpty()).isTrue();
+    }
+}
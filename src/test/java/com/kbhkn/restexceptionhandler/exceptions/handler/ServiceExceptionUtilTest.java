@@ -0,0 +1,71 @@
+package com.kbhkn.restexceptionhandler.exceptions.handler;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import javax.validation.constraints.Pattern;
+import javax.validation.constraints.Size;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.validation.BeanPropertyBindingResult;
+import org.springframework.validation.BindingResult;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+
+class ServiceExceptionUtilTest {
+    private LocalValidatorFactoryBean validator;
+
+    @BeforeEach
+    void setUp() {
+        validator = new LocalValidatorFactoryBean();
+        validator.afterPropertiesSet();
+    }
+
+    @AfterEach
+    void tearDown() {
+        validator.destroy();
+    }
+
+    @Test
+    void keepsTheStringAttributesOfTheConstraintInOrder() {
+        BindingResult result = validate(new Customer("abc", "toolong"));
+
+        assertThat(ServiceExceptionUtil.fieldErrorParameters(result.getFieldError("tckn")))
+            .containsExactly("tckn", "abc", "{}", "[0-9]{11}");
+    }
+
+    @Test
+    void keepsTheNumericAttributesOfTheConstraintInAlphabeticalOrder() {
+        BindingResult result = validate(new Customer("12345678901", "toolong"));
+
+        assertThat(ServiceExceptionUtil.fieldErrorParameters(result.getFieldError("name")))
+            .containsExactly("name", "toolong", "5", "1");
+    }
+
+    private BindingResult validate(Customer customer) {
+        BindingResult result = new BeanPropertyBindingResult(customer, "customer");
+        validator.validate(customer, result);
+
+        return result;
+    }
+
+    static class Customer {
+        @Pattern(regexp = "[0-9]{11}")
+        private final String tckn;
+
+        @Size(min = 1, max = 5)
+        private final String name;
+
+        Customer(String tckn, String name) {
+            this.tckn = tckn;
+            this.name = name;
+        }
+
+        public String getTckn() {
+            return tckn;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+}
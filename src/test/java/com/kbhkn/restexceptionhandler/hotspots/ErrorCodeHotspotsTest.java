@@ -0,0 +1,125 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.kbhkn.restexceptionhandler.configurations.ExceptionHandlerPropertiesReader;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ErrorCodeHotspotsTest {
+    private static final int RECORDERS = 4;
+    private static final int RECORDS_PER_RECORDER = 20_000;
+    private static final int LIMIT = 10;
+
+    private final ErrorCodeHotspots hotspots = new ErrorCodeHotspots(properties());
+
+    @AfterEach
+    void stopTicker() {
+        hotspots.destroy();
+    }
+
+    @Test
+    void topOfConcurrentRecordingsHasEachTripleOnceInOrderOfTheCounts() throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        CountDownLatch recorded = new CountDownLatch(RECORDERS);
+        Queue<List<Hotspot>> invalidTops = new ConcurrentLinkedQueue<>();
+        List<Thread> threads = new ArrayList<>();
+
+        for (int recorder = 0; recorder < RECORDERS; recorder++) {
+            threads.add(new Thread(() -> {
+                await(start);
+
+                for (int i = 0; i < RECORDS_PER_RECORDER; i++) {
+                    // 70% of the responses are one of the 3 heavy codes, the others are spread over 29 codes.
+                    String code = i % 10 < 7 ? "HEAVY-" + (i % 3) : "LIGHT-" + (i % 29);
+                    hotspots.record("api", "module", code);
+                }
+
+                recorded.countDown();
+            }, "hotspots-recorder-" + recorder));
+        }
+
+        threads.add(new Thread(() -> {
+            await(start);
+
+            while (recorded.getCount() > 0) {
+                List<Hotspot> top = hotspots.top(LIMIT);
+
+                if (!isValid(top)) {
+                    invalidTops.add(top);
+                }
+            }
+        }, "hotspots-reader"));
+
+        threads.forEach(Thread::start);
+        start.countDown();
+
+        for (Thread thread : threads) {
+            thread.join(TimeUnit.SECONDS.toMillis(30));
+        }
+
+        assertThat(invalidTops).isEmpty();
+
+        List<Hotspot> top = hotspots.top(LIMIT);
+
+        assertThat(isValid(top)).isTrue();
+        assertThat(top.subList(0, 3))
+                .extracting(Hotspot::getCode)
+                .containsExactlyInAnyOrder("HEAVY-0", "HEAVY-1", "HEAVY-2");
+        assertThat(top.get(0).getCount()).isGreaterThanOrEqualTo(RECORDERS * RECORDS_PER_RECORDER / 5L);
+    }
+
+    @Test
+    void topIsEmptyIfTheTrackingIsntEnabled() {
+        ErrorCodeHotspots disabled = new ErrorCodeHotspots(new ExceptionHandlerPropertiesReader() {
+        });
+
+        disabled.record("api", "module", "code");
+
+        assertThat(disabled.isEnabled()).isFalse();
+        assertThat(disabled.top(LIMIT)).isEmpty();
+    }
+
+    /**
+     * At most the limit, each triple once, in order of the counts.
+     */
+    private static boolean isValid(List<Hotspot> top) {
+        List<String> triples = top.stream()
+                .map(hotspot -> hotspot.getApi() + "/" + hotspot.getModule() + "/" + hotspot.getCode())
+                .distinct()
+                .collect(Collectors.toList());
+
+        List<Hotspot> sorted = new ArrayList<>(top);
+        sorted.sort(Comparator.comparingLong(Hotspot::getCount).reversed());
+
+        return top.size() <= LIMIT && triples.size() == top.size() && sorted.equals(top);
+    }
+
+    private static void await(CountDownLatch start) {
+        try {
+            start.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static ExceptionHandlerPropertiesReader properties() {
+        ExceptionHandlerPropertiesReader properties = new ExceptionHandlerPropertiesReader() {
+        };
+        properties.getHotspots().setEnabled(true);
+        properties.getHotspots().setWindow(Duration.ofHours(1));
+        properties.getHotspots().setCandidates(8);
+
+        return properties;
+    }
+}
@@ -0,0 +1,54 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+
+class HeavyHitterCandidatesTest {
+    @Test
+    void keepsTheKeysWithTheHighestEstimates() {
+        HeavyHitterCandidates candidates = new HeavyHitterCandidates(3);
+
+        for (long fingerprint = 1; fingerprint <= 5; fingerprint++) {
+            candidates.offer(fingerprint, "api", "module", "code-" + fingerprint, fingerprint * 10);
+        }
+
+        assertThat(fingerprints(candidates)).containsExactlyInAnyOrder(3L, 4L, 5L);
+
+        // A lower estimate doesn't replace any key, a known key is only updated.
+        candidates.offer(6, "api", "module", "code-6", 5);
+        candidates.offer(3, "api", "module", "code-3", 100);
+
+        assertThat(fingerprints(candidates)).containsExactlyInAnyOrder(3L, 4L, 5L);
+
+        candidates.offer(7, "api", "module", "code-7", 45);
+
+        assertThat(fingerprints(candidates)).containsExactlyInAnyOrder(3L, 5L, 7L);
+        assertThat(candidates.candidates())
+                .filteredOn(candidate -> candidate.getFingerprint() == 7)
+                .extracting(HeavyHitterCandidates.Candidate::getCode)
+                .containsExactly("code-7");
+    }
+
+    @Test
+    void refreshRemovesTheKeysWithoutCountsInTheWindow() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1_024, 4, TimeUnit.HOURS.toNanos(1));
+        HeavyHitterCandidates candidates = new HeavyHitterCandidates(4);
+
+        candidates.offer(1, "api", "module", "counted", sketch.add(1));
+        candidates.offer(2, "api", "module", "not-counted", 10);
+
+        candidates.refresh(sketch);
+
+        assertThat(fingerprints(candidates)).containsExactly(1L);
+    }
+
+    private static List<Long> fingerprints(HeavyHitterCandidates candidates) {
+        return candidates.candidates().stream()
+                .map(HeavyHitterCandidates.Candidate::getFingerprint)
+                .collect(Collectors.toList());
+    }
+}
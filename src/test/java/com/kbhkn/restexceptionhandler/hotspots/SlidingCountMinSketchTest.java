@@ -0,0 +1,94 @@
+package com.kbhkn.restexceptionhandler.hotspots;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class SlidingCountMinSketchTest {
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+    private static final long KEY = 42;
+
+    @Test
+    void estimateIsNeverLessThanTheRealCount() {
+        // Narrow rows, so many keys share the counters.
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(2, 16, 4, HOUR);
+        Map<Long, Long> counts = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 10_000; i++) {
+            long fingerprint = 1 + random.nextInt(500);
+            long count = counts.merge(fingerprint, 1L, Long::sum);
+
+            assertThat(sketch.add(fingerprint)).isGreaterThanOrEqualTo(count);
+        }
+
+        counts.forEach((fingerprint, count) -> assertThat(sketch.estimate(fingerprint)).isGreaterThanOrEqualTo(count));
+    }
+
+    @Test
+    void estimateOfAKeyWithoutCollisionsIsExact() {
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1_024, 4, HOUR);
+
+        for (int i = 0; i < 100; i++) {
+            sketch.add(KEY);
+        }
+
+        assertThat(sketch.estimate(KEY)).isEqualTo(100L);
+        assertThat(sketch.estimate(KEY + 1)).isZero();
+        assertThat(sketch.sizeInBytes()).isEqualTo(5L * 4 * 1_024 * Long.BYTES);
+    }
+
+    @Test
+    void rotationEvictsTheCountsOlderThanTheWindow() throws InterruptedException {
+        long bucketNanos = TimeUnit.MILLISECONDS.toNanos(200);
+        SlidingCountMinSketch sketch = new SlidingCountMinSketch(4, 1_024, 2, bucketNanos);
+
+        // The counts are added at the beginning of a bucket, so the bucket doesn't end while they are added.
+        long epoch = awaitNextEpoch(bucketNanos);
+        for (int i = 0; i < 10; i++) {
+            sketch.add(KEY);
+        }
+
+        assertThat(sketch.estimate(KEY)).isEqualTo(10L);
+
+        tickUntil(sketch, bucketNanos, epoch + 1);
+        assertThat(sketch.estimate(KEY)).isEqualTo(10L);
+
+        tickUntil(sketch, bucketNanos, epoch + 2);
+        assertThat(sketch.estimate(KEY)).isZero();
+
+        // The bucket of the counts is used again after the spare one, it has been cleared before.
+        tickUntil(sketch, bucketNanos, epoch + 3);
+        assertThat(sketch.estimate(KEY)).isZero();
+    }
+
+    private static long awaitNextEpoch(long bucketNanos) throws InterruptedException {
+        long epoch = epoch(bucketNanos);
+
+        while (epoch(bucketNanos) == epoch) {
+            Thread.sleep(1);
+        }
+
+        return epoch(bucketNanos);
+    }
+
+    /**
+     * Runs the ticker on this thread until the epoch begins.
+     */
+    private static void tickUntil(SlidingCountMinSketch sketch, long bucketNanos, long epoch) throws InterruptedException {
+        while (epoch(bucketNanos) < epoch) {
+            sketch.clearNextBucket();
+            Thread.sleep(1);
+        }
+
+        sketch.clearNextBucket();
+    }
+
+    private static long epoch(long bucketNanos) {
+        return Math.floorDiv(System.nanoTime(), bucketNanos);
+    }
+}
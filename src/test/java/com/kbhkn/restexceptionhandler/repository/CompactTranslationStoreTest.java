@@ -0,0 +1,202 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CompactTranslationStoreTest {
+    private static final String LONG_VALUE = "Işlem tamamlanamadı, lütfen tekrar deneyin. ".repeat(8);
+
+    @Test
+    void findsEachDefinitionOfKeysWithTheSameHash() {
+        // "Aa" and "BB" have the same hash code, so the keys collide and are found by probing.
+        Map<TranslationKey, String> translations = new HashMap<>();
+        translations.put(key("Aa", "TR"), "first");
+        translations.put(key("BB", "TR"), "second");
+        translations.put(key("AaAa", "TR"), "third");
+        translations.put(key("BBBB", "TR"), LONG_VALUE);
+        translations.put(key("AaBB", "TR"), null);
+        translations.put(key("Aa", "EN"), "english");
+
+        assertThat(key("Aa", "TR").hashCode()).isEqualTo(key("BB", "TR").hashCode());
+        assertThat(key("AaAa", "TR").hashCode()).isEqualTo(key("BBBB", "TR").hashCode()).isEqualTo(key("AaBB", "TR").hashCode());
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+
+        assertFinds(store, translations);
+        assertThat(store.find(key("BBAa", "TR"))).isNull();
+        assertThat(store.find(key("BB", "EN"))).isNull();
+        assertThat(store.find(TranslationKey.of("other", "module", "Aa", "TR"))).isNull();
+        assertThat(store.size()).isEqualTo(translations.size());
+        assertThat(store.locales()).containsExactlyInAnyOrder("TR", "EN");
+        assertThat(store.distinctStrings()).isEqualTo(distinctStrings(translations));
+    }
+
+    @Test
+    void mergeOverridesAndAddsTheDefinitionsWithoutChangingTheMergedStore() {
+        Map<TranslationKey, String> translations = new HashMap<>();
+        translations.put(key("Aa", "TR"), "first");
+        translations.put(key("CC", "TR"), "second");
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+
+        Map<TranslationKey, String> changes = new HashMap<>();
+        changes.put(key("Aa", "TR"), "first, changed");
+        changes.put(key("BB", "TR"), "added with the same hash");
+        changes.put(key("DD", "EN"), LONG_VALUE);
+
+        CompactTranslationStore merged = store.merge(changes);
+
+        Map<TranslationKey, String> expected = new HashMap<>(translations);
+        expected.putAll(changes);
+
+        assertFinds(merged, expected);
+        assertFinds(store, translations);
+        assertThat(merged.size()).isEqualTo(4);
+        assertThat(merged.locales()).containsExactlyInAnyOrder("TR", "EN");
+        assertThat(merged.distinctStrings()).isEqualTo(distinctStrings(expected));
+    }
+
+    @Test
+    void mergeOfTheSameDefinitionsReturnsTheSameStore() {
+        Map<TranslationKey, String> translations = Map.of(key("Aa", "TR"), "first", key("BB", "TR"), "second");
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+
+        assertThat(store.merge(translations)).isSameAs(store);
+        assertThat(store.merge(Map.of())).isSameAs(store);
+    }
+
+    @Test
+    void mergeAppendsIntoTheSpareCapacityOfTheArena() {
+        Map<TranslationKey, String> translations = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            translations.put(key("CODE_" + i, "TR"), "value " + i);
+        }
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+        CompactTranslationStore merged = store.merge(Map.of(key("CODE_0", "TR"), "changed"));
+
+        assertThat(merged.offHeapBytes()).isEqualTo(store.offHeapBytes());
+        assertThat(merged.find(key("CODE_0", "TR")).getValue()).isEqualTo("changed");
+        assertThat(store.find(key("CODE_0", "TR")).getValue()).isEqualTo("value 0");
+    }
+
+    @Test
+    void mergesOfTheSameStoreDontOverwriteTheStringsOfEachOther() {
+        Map<TranslationKey, String> translations = new HashMap<>();
+        translations.put(key("Aa", "TR"), "first");
+        for (int i = 0; i < 100; i++) {
+            translations.put(key("CODE_" + i, "TR"), "value " + i);
+        }
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+        CompactTranslationStore first = store.merge(Map.of(key("Aa", "TR"), "from the first merge"));
+        // The first merge has appended after the strings of the store, so the second one can't append there.
+        CompactTranslationStore second = store.merge(Map.of(key("Aa", "TR"), "from the second merge"));
+
+        assertThat(first.offHeapBytes()).isEqualTo(store.offHeapBytes());
+        assertThat(first.find(key("Aa", "TR")).getValue()).isEqualTo("from the first merge");
+        assertThat(second.find(key("Aa", "TR")).getValue()).isEqualTo("from the second merge");
+        assertThat(store.find(key("Aa", "TR")).getValue()).isEqualTo("first");
+    }
+
+    @Test
+    void indexGrowsWhenTheMergesAddManyKeys() {
+        Map<TranslationKey, String> expected = new HashMap<>();
+        expected.put(key("Aa", "TR"), "first");
+
+        CompactTranslationStore store = CompactTranslationStore.of(expected);
+
+        for (int round = 0; round < 10; round++) {
+            Map<TranslationKey, String> changes = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                changes.put(key("CODE_" + round + "_" + i, i % 2 == 0 ? "TR" : "EN"), "value " + round + "_" + i);
+            }
+
+            store = store.merge(changes);
+            expected.putAll(changes);
+        }
+
+        assertFinds(store, expected);
+        assertThat(store.size()).isEqualTo(expected.size());
+    }
+
+    @Test
+    void compactionDropsTheOverriddenStringsAndKeepsTheDefinitions() {
+        Map<TranslationKey, String> expected = new HashMap<>();
+        for (int i = 0; i < 100; i++) {
+            expected.put(key("CODE_" + i, "TR"), "value " + i);
+        }
+
+        CompactTranslationStore store = CompactTranslationStore.of(expected);
+        long initialBytes = store.offHeapBytes();
+
+        for (int round = 0; round < 200; round++) {
+            Map<TranslationKey, String> changes = new HashMap<>();
+            for (int i = 0; i < 100; i++) {
+                changes.put(key("CODE_" + i, "TR"), "value " + i + " of the round " + round);
+            }
+
+            store = store.merge(changes);
+            expected.putAll(changes);
+        }
+
+        assertFinds(store, expected);
+        assertThat(store.offHeapBytes()).isLessThan(initialBytes * 8);
+        assertThat(store.distinctStrings()).isEqualTo(distinctStrings(expected));
+    }
+
+    @Test
+    void countsTheStringsAppendedByAMergeOnceIfTheArenaAlreadyHasThem() {
+        Map<TranslationKey, String> translations = Map.of(key("Aa", "TR"), "shared value");
+
+        CompactTranslationStore store = CompactTranslationStore.of(translations);
+        CompactTranslationStore merged = store.merge(Map.of(key("BB", "TR"), "shared value"));
+
+        // application, module, Aa, BB, TR and the shared value.
+        assertThat(merged.distinctStrings()).isEqualTo(6);
+    }
+
+    private static TranslationKey key(String code, String locale) {
+        return TranslationKey.of("application", "module", code, locale);
+    }
+
+    private static void assertFinds(CompactTranslationStore store, Map<TranslationKey, String> expected) {
+        expected.forEach((key, value) -> {
+            Translation translation = store.find(key);
+
+            if (Objects.isNull(value)) {
+                assertThat(translation).isNull();
+            } else {
+                assertThat(translation).isNotNull();
+                assertThat(translation.getValue()).isEqualTo(value);
+            }
+        });
+
+        Map<TranslationKey, String> decoded = new HashMap<>();
+        store.forEach(decoded::put);
+
+        assertThat(decoded).isEqualTo(expected);
+    }
+
+    private static int distinctStrings(Map<TranslationKey, String> translations) {
+        Set<String> strings = new HashSet<>();
+
+        translations.forEach((key, value) -> {
+            strings.add(key.getApplication());
+            strings.add(key.getModule());
+            strings.add(key.getCode());
+            strings.add(key.getLocale());
+            strings.add(value);
+        });
+        strings.remove(null);
+
+        return strings.size();
+    }
+}
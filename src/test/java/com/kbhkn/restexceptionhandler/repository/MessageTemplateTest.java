@@ -0,0 +1,76 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.text.MessageFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+class MessageTemplateTest {
+    static Stream<Arguments> messages() {
+        return Stream.of(
+                // Plain placeholders.
+                Arguments.of("{0} numaralı TCKN hatalıdır!", List.of("12345678901")),
+                Arguments.of("Kullanıcı {0}, {1} işlemini yapamaz.", List.of("kbhkn", "transfer")),
+                Arguments.of("No placeholders.", List.of("ignored")),
+                Arguments.of("", List.of("ignored")),
+                Arguments.of("{0}", Arrays.asList((String) null)),
+                // Quotes are literal.
+                Arguments.of("it''s {0}", List.of("x")),
+                Arguments.of("'{0}'", List.of("x")),
+                Arguments.of("it's {0}'s", List.of("x")),
+                Arguments.of("'", List.of("x")),
+                // Missing and extra arguments.
+                Arguments.of("{0} {1} {2}", List.of("a")),
+                Arguments.of("{1}", List.of("a")),
+                Arguments.of("{0}", List.of("a", "b", "c")),
+                Arguments.of("{9999}", List.of("a")),
+                // Repeated and reordered indexes.
+                Arguments.of("{0} ve {0}", List.of("a")),
+                Arguments.of("{1}{0}{1}", List.of("a", "b")),
+                Arguments.of("{00}-{01}", List.of("a", "b")),
+                // A closing brace alone is literal.
+                Arguments.of("a } b {0}", List.of("x")),
+                // Complex patterns are rendered by the MessageFormat.
+                Arguments.of("{0} adet, {1,number,integer}", List.of("5")),
+                Arguments.of("'{0}' ve {1,number}", List.of("5")),
+                Arguments.of("{0,number}", List.of("5")),
+                Arguments.of("{10000}", List.of("a")),
+                Arguments.of("{}", List.of("a")),
+                Arguments.of("{a}", List.of("a")),
+                Arguments.of("{ 0 }", List.of("a")),
+                Arguments.of("a { b", List.of("a"))
+        );
+    }
+
+    @ParameterizedTest
+    @MethodSource("messages")
+    void rendersLikeTheMessageFormatOfTheEscapedMessage(String message, List<String> params) {
+        String expected = outcome(() -> MessageFormat.format(message.replace("'", "''"), params.toArray()));
+
+        assertThat(outcome(() -> MessageTemplate.compile(message).render(params))).isEqualTo(expected);
+    }
+
+    @Test
+    void keepsTheQuotesAndTheMissingPlaceholders() {
+        assertThat(MessageTemplate.compile("'{0}' {1}").render(List.of("x"))).isEqualTo("'x' {1}");
+        assertThat(MessageTemplate.compile("it''s {0}").render(List.of("x"))).isEqualTo("it''s x");
+    }
+
+    /**
+     * The rendered message, or the failure, so an invalid pattern fails the same way in both.
+     */
+    private static String outcome(Supplier<String> render) {
+        try {
+            return render.get();
+        } catch (IllegalArgumentException ex) {
+            return ex.getClass().getName() + ": " + ex.getMessage();
+        }
+    }
+}
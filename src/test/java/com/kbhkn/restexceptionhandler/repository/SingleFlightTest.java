@@ -0,0 +1,109 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class SingleFlightTest {
+    private static final int CALLERS = 8;
+    private static final String KEY = "key";
+
+    private final SingleFlight<String, String> singleFlight = new SingleFlight<>();
+    private final CountDownLatch start = new CountDownLatch(1);
+    private final CountDownLatch arrived = new CountDownLatch(CALLERS);
+    private final List<Thread> callers = new ArrayList<>();
+    private final Map<Thread, Object> results = new ConcurrentHashMap<>();
+
+    @Test
+    void loadsOnceForConcurrentCallersOfTheSameKey() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+
+        runCallers(keys -> {
+            loads.incrementAndGet();
+            awaitJoiners();
+
+            return Map.of(KEY, "value");
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS);
+        assertThat(results.values()).allMatch(Map.of(KEY, "value")::equals);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    @Test
+    void rethrowsTheFailureOfTheOwnerToEveryJoiner() throws InterruptedException {
+        AtomicInteger loads = new AtomicInteger();
+        IllegalStateException failure = new IllegalStateException("load failed");
+
+        runCallers(keys -> {
+            loads.incrementAndGet();
+            awaitJoiners();
+
+            throw failure;
+        });
+
+        assertThat(loads).hasValue(1);
+        assertThat(results).hasSize(CALLERS);
+        assertThat(results.values()).allMatch(result -> result == failure);
+        assertThat(singleFlight.size()).isZero();
+    }
+
+    private void runCallers(Function<List<String>, Map<String, String>> loader) throws InterruptedException {
+        for (int i = 0; i < CALLERS; i++) {
+            Thread caller = new Thread(() -> {
+                try {
+                    start.await();
+                    arrived.countDown();
+                    results.put(Thread.currentThread(), singleFlight.load(List.of(KEY), loader));
+                } catch (RuntimeException ex) {
+                    results.put(Thread.currentThread(), ex);
+                } catch (InterruptedException ex) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "single-flight-caller-" + i);
+
+            callers.add(caller);
+            caller.start();
+        }
+
+        start.countDown();
+
+        for (Thread caller : callers) {
+            caller.join(TimeUnit.SECONDS.toMillis(10));
+        }
+    }
+
+    /**
+     * Blocks the owner until every other caller has passed the start and is parked waiting for its load.
+     */
+    private void awaitJoiners() {
+        try {
+            assertThat(arrived.await(10, TimeUnit.SECONDS)).isTrue();
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+
+            while (!allJoinersParked()) {
+                assertThat(System.nanoTime()).isLessThan(deadline);
+                Thread.sleep(1);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private boolean allJoinersParked() {
+        return callers.stream()
+                .filter(caller -> caller != Thread.currentThread())
+                .allMatch(caller -> caller.getState() == Thread.State.WAITING);
+    }
+}
@@ -0,0 +1,125 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class TranslationSnapshotFileTest {
+    private static final String SCHEMA = "geh";
+    private static final Duration MAX_AGE = Duration.ofHours(1);
+
+    /* Offsets of the header fields. */
+    private static final int VERSION_OFFSET = Integer.BYTES;
+    private static final int CREATED_AT_OFFSET = VERSION_OFFSET + Short.BYTES;
+    private static final int PAYLOAD_OFFSET = CREATED_AT_OFFSET + Long.BYTES + Integer.BYTES + Long.BYTES;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void readsTheWrittenDefinitions() {
+        Map<TranslationKey, String> translations = translations();
+        TranslationSnapshotFile file = file(SCHEMA);
+
+        file.write(translations);
+
+        assertThat(file.read()).hasValue(translations);
+    }
+
+    @Test
+    void readsTheDefinitionsOfTheWrittenSnapshot() {
+        TranslationSnapshot.Builder builder = TranslationSnapshot.builder(true);
+        translations().forEach(builder::put);
+        TranslationSnapshotFile file = file(SCHEMA);
+
+        file.write(builder.build());
+
+        assertThat(file.read()).hasValue(translations());
+    }
+
+    @Test
+    void readsNothingIfThereIsNoFile() {
+        assertThat(file(SCHEMA).read()).isEmpty();
+    }
+
+    @Test
+    void discardsAFileWithoutTheMagic() throws IOException {
+        assertDiscarded(bytes -> bytes.putInt(0, 0x12345678));
+    }
+
+    @Test
+    void discardsAFileOfAnotherFormatVersion() throws IOException {
+        assertDiscarded(bytes -> bytes.putShort(VERSION_OFFSET, (short) 2));
+    }
+
+    @Test
+    void discardsAFileOlderThanTheMaxAge() throws IOException {
+        assertDiscarded(bytes -> bytes.putLong(CREATED_AT_OFFSET, System.currentTimeMillis() - MAX_AGE.toMillis() - 60_000));
+    }
+
+    @Test
+    void discardsAFileOfAnotherSchema() {
+        file("other").write(translations());
+
+        assertThat(file(SCHEMA).read()).isEmpty();
+    }
+
+    @Test
+    void discardsATruncatedFile() throws IOException {
+        TranslationSnapshotFile file = file(SCHEMA);
+        file.write(translations());
+
+        byte[] bytes = Files.readAllBytes(path());
+        Files.write(path(), Arrays.copyOf(bytes, bytes.length - 3));
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    @Test
+    void discardsAFileWhosePayloadDoesntMatchTheChecksum() throws IOException {
+        assertDiscarded(bytes -> bytes.put(PAYLOAD_OFFSET + 7, (byte) (bytes.get(PAYLOAD_OFFSET + 7) ^ 0x01)));
+    }
+
+    /**
+     * Writes a valid file, changes its bytes, then the file is read again.
+     */
+    private void assertDiscarded(Consumer<ByteBuffer> corruption) throws IOException {
+        TranslationSnapshotFile file = file(SCHEMA);
+        file.write(translations());
+        assertThat(file.read()).isPresent();
+
+        ByteBuffer bytes = ByteBuffer.wrap(Files.readAllBytes(path()));
+        corruption.accept(bytes);
+        Files.write(path(), bytes.array());
+
+        assertThat(file.read()).isEmpty();
+    }
+
+    private TranslationSnapshotFile file(String schemaName) {
+        return new TranslationSnapshotFile(path(), schemaName, MAX_AGE);
+    }
+
+    private Path path() {
+        return directory.resolve("translations.snapshot");
+    }
+
+    private static Map<TranslationKey, String> translations() {
+        Map<TranslationKey, String> translations = new HashMap<>();
+        translations.put(TranslationKey.of("app", "module", "100000", "TR"), "{0} numaralı TCKN hatalıdır! İşlem ğüşöç");
+        translations.put(TranslationKey.of("app", "module", "100000", "EN"), "Invalid TCKN: {0}.");
+        translations.put(TranslationKey.of("app", "module", "100001", "JA"), "ユーザーは既に存在します 😀");
+        translations.put(TranslationKey.of("app", "Self", "-99", "TR"), null);
+
+        return translations;
+    }
+}
@@ -0,0 +1,53 @@
+package com.kbhkn.restexceptionhandler.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+class TranslationSnapshotTest {
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void buildsTheSameSnapshotIfTheRowsDontChangeAnything(boolean compact) {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder(compact)
+            .put(key("100000"), "first")
+            .put(key("100001"), "second")
+            .watermark(2L)
+            .build();
+
+        TranslationSnapshot unchanged = snapshot.toBuilder()
+            .put(key("100001"), "second")
+            .watermark(2L)
+            .build();
+
+        assertThat(unchanged).isSameAs(snapshot);
+    }
+
+    @ParameterizedTest
+    @ValueSource(booleans = {false, true})
+    void buildsANewSnapshotIfADefinitionOrTheWatermarkChanges(boolean compact) {
+        TranslationSnapshot snapshot = TranslationSnapshot.builder(compact)
+            .put(key("100000"), "first")
+            .watermark(2L)
+            .build();
+
+        TranslationSnapshot changed = snapshot.toBuilder()
+            .put(key("100000"), "first, changed")
+            .watermark(2L)
+            .build();
+        TranslationSnapshot touched = snapshot.toBuilder()
+            .put(key("100000"), "first")
+            .watermark(3L)
+            .build();
+
+        assertThat(changed).isNotSameAs(snapshot);
+        assertThat(changed.find(key("100000"))).get().extracting(Translation::getValue).isEqualTo("first, changed");
+        assertThat(snapshot.find(key("100000"))).get().extracting(Translation::getValue).isEqualTo("first");
+        assertThat(touched).isNotSameAs(snapshot);
+        assertThat(touched.getWatermark()).isEqualTo(3L);
+    }
+
+    private static TranslationKey key(String code) {
+        return TranslationKey.of("app", "module", code, "TR");
+    }
+}